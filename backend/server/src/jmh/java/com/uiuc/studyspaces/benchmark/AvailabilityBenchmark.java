@@ -0,0 +1,115 @@
+package com.uiuc.studyspaces.benchmark;
+
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.service.DaySchedule;
+import com.uiuc.studyspaces.service.OpeningHours;
+import com.uiuc.studyspaces.service.RoomSchedule;
+import com.uiuc.studyspaces.service.RoomUsageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Availability query paths of {@link RoomUsageService} over the full Fall 2025
+ * dataset. Run with {@code ./mvnw -Pbenchmark -DskipTests verify}; the gc
+ * profiler reports allocation per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    // Before the first class, mid-morning class change, and after the last class
+    @Param({ "07:30", "10:55", "21:55" })
+    public String time;
+
+    private RoomUsageService service;
+    private String largestBuilding;
+    private List<RoomSchedule> allRooms;
+    private int queryMinute;
+
+    @Setup
+    public void setUp() {
+        List<RoomUsage> rooms = RoomUsageFixture.loadRooms();
+        service = RoomUsageFixture.indexedService(false);
+
+        Map<String, Long> roomsPerBuilding = rooms.stream()
+                .collect(Collectors.groupingBy(RoomUsage::getBuilding, Collectors.counting()));
+        largestBuilding = roomsPerBuilding.entrySet().stream()
+                .max(Comparator.comparing(Map.Entry<String, Long>::getValue))
+                .orElseThrow()
+                .getKey();
+
+        OpeningHours hours = OpeningHours.parse("07:00", "23:00");
+        allRooms = rooms.stream()
+                .map(room -> RoomSchedule.of(room, hours))
+                .collect(Collectors.toList());
+        String[] parts = time.split(":");
+        queryMinute = Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+
+    /**
+     * The single-building query with and without the status cache; with it,
+     * every call after the first is a cache hit
+     */
+    @State(Scope.Benchmark)
+    public static class StatusCacheState {
+
+        @Param({ "false", "true" })
+        public boolean statusCache;
+
+        private RoomUsageService service;
+
+        @Setup
+        public void setUp() {
+            service = RoomUsageFixture.indexedService(statusCache);
+        }
+    }
+
+    @Benchmark
+    public List<RoomStatusResponse> singleBuilding(StatusCacheState state) {
+        return state.service.getAllRoomsWithStatus(largestBuilding, "Monday", time);
+    }
+
+    @Benchmark
+    public Object campusWide() {
+        return service.getFreeRoomsOnCampus("Monday", time, null);
+    }
+
+    @Benchmark
+    public Object campusWideFreeForTwoHours() {
+        return service.getFreeRoomsOnCampus("Monday", time, 120);
+    }
+
+    /**
+     * The availableUntil / availableFrom lookups behind createRoomStatusResponse,
+     * for every room on campus, without building response objects
+     */
+    @Benchmark
+    public void nextOccupied(Blackhole blackhole) {
+        for (RoomSchedule room : allRooms) {
+            DaySchedule schedule = room.getDay(DayOfWeek.MONDAY);
+            int freeUntil = schedule.freeUntil(queryMinute);
+            blackhole.consume(freeUntil < 0 ? schedule.nextFreeAfter(queryMinute) : freeUntil);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.uiuc.studyspaces.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.service.CampusExecutor;
+import com.uiuc.studyspaces.service.RoomUsageMetrics;
+import com.uiuc.studyspaces.service.RoomUsageService;
+import com.uiuc.studyspaces.service.SemesterTerms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Loads the bundled room_usage_fall2025.json export so benchmarks run against
+ * the real semester dataset without a MongoDB instance
+ */
+public final class RoomUsageFixture {
+
+    private static final String DATASET = "/room_usage_fall2025.json";
+
+    private RoomUsageFixture() {
+    }
+
+    /**
+     * @return Every room in the bundled dataset
+     */
+    public static List<RoomUsage> loadRooms() {
+        // The export uses the Mongo field names ("room", "Monday", ...), which
+        // only line up with the model's fields, not its accessors
+        ObjectMapper mapper = new ObjectMapper()
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        try (InputStream in = RoomUsageFixture.class.getResourceAsStream(DATASET)) {
+            if (in == null) {
+                throw new IllegalStateException(DATASET + " is not on the classpath");
+            }
+            return mapper.readValue(in, new TypeReference<List<RoomUsage>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param statusCache Whether building status lists are cached between
+     *                    queries, or recomputed from the index every time
+     * @return A service answering from an index of the bundled dataset; it has no
+     *         repository, so any query that would reach Mongo fails
+     */
+    public static RoomUsageService indexedService(boolean statusCache) {
+        StudySpacesProperties properties = new StudySpacesProperties();
+        if (!statusCache) {
+            properties.getStatusCache().setMaxRooms(0);
+        }
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomUsageService service = new RoomUsageService(null, null, properties,
+                new RoomUsageMetrics(registry, properties), new SemesterTerms(properties),
+                new CampusExecutor(properties, registry));
+        service.loadIndex(loadRooms());
+        return service;
+    }
+}
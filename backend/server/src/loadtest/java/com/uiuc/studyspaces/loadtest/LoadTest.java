@@ -0,0 +1,265 @@
+package com.uiuc.studyspaces.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.uiuc.studyspaces.StudyspacesApplication;
+import com.uiuc.studyspaces.service.ScheduleIndexWarmer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Load test of the HTTP API. Boots the application against an in-process Mongo
+ * stand-in seeded with the bundled dataset, waits for the schedule index to
+ * warm, then runs each scenario with a fixed number of concurrent clients and
+ * reports throughput, p50/p99 latency and the application's allocation rate.
+ * Runs offline; the same seed and client count always send the same requests.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest -DskipTests verify}. Options are passed as
+ * {@code -Dloadtest.args="--clients=32 --requests=500"}:
+ *
+ * <pre>
+ * --clients=16           concurrent clients per scenario
+ * --requests=300         requests per client per scenario
+ * --warmup=200           unrecorded browse requests per client first
+ * --seed=42              seed of every client's choices
+ * --scenarios=browse,class-change,fan-out
+ * --output=target/loadtest-result.json
+ * --max-p99-ms=N         fail if any scenario's p99 latency is higher
+ * --min-throughput=N     fail if any scenario serves fewer requests per second
+ * </pre>
+ *
+ * Any other {@code --name=value} is passed to the application, for example
+ * {@code --studyspaces.status-cache.max-rooms=0}. A failed request always fails
+ * the run.
+ */
+public final class LoadTest {
+
+    private static final String COLLECTION = "room_usage_fall2025";
+    private static final String CLIENT_THREAD = "loadtest-";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "clients", "16",
+                "requests", "300",
+                "warmup", "200",
+                "seed", "42",
+                "scenarios", "browse,class-change,fan-out",
+                "output", "target/loadtest-result.json"));
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 0 ? arg.substring(2, equals) : null;
+            if (name != null && (options.containsKey(name) || name.equals("max-p99-ms")
+                    || name.equals("min-throughput"))) {
+                options.put(name, arg.substring(equals + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        System.exit(run(options, applicationArgs));
+    }
+
+    private static int run(Map<String, String> options, List<String> applicationArgs) throws Exception {
+        int clients = Integer.parseInt(options.get("clients"));
+        int requests = Integer.parseInt(options.get("requests"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        long seed = Long.parseLong(options.get("seed"));
+        List<Scenario> scenarios = Arrays.stream(options.get("scenarios").split(","))
+                .map(String::trim)
+                .map(Scenario::byName)
+                .collect(Collectors.toList());
+
+        // Restarting in a new class loader would lose the Mongo stand-in
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService clientThreads = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, CLIENT_THREAD + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (MongoStandIn mongo = MongoStandIn.start(COLLECTION);
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(StudyspacesApplication.class)
+                        .properties(Map.of(
+                                "server.port", "0",
+                                "spring.data.mongodb.uri", mongo.getUri(),
+                                // The stand-in has no change streams; the dataset never changes anyway
+                                "studyspaces.reload.mode", "off",
+                                "spring.main.banner-mode", "off",
+                                "logging.level.root", "WARN"))
+                        .run(applicationArgs.toArray(new String[0]))) {
+            awaitWarmup(context.getBean(ScheduleIndexWarmer.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Traffic traffic = new Traffic("http://127.0.0.1:" + port, mongo.getRoomsByBuilding(), clientThreads);
+
+            System.out.printf("Load test: %d clients, %d requests each, seed %d%n", clients, requests, seed);
+            runScenario(Scenario.BROWSE, traffic, clients, warmup, seed - 1, clientThreads);
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                results.add(runScenario(scenario, traffic, clients, requests, seed, clientThreads));
+            }
+            report(results);
+            write(Path.of(options.get("output")), options, results);
+            return check(results, options);
+        } finally {
+            clientThreads.shutdownNow();
+        }
+    }
+
+    private static void awaitWarmup(ScheduleIndexWarmer warmer) throws InterruptedException {
+        long deadline = System.nanoTime() + 120_000_000_000L;
+        while (true) {
+            String state = String.valueOf(warmer.health().getDetails().get("state"));
+            if (state.equals("READY") || state.equals("DISABLED")) {
+                return;
+            }
+            if (state.equals("FAILED") || System.nanoTime() > deadline) {
+                throw new IllegalStateException("Schedule index did not warm: " + warmer.health().getDetails());
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static ScenarioResult runScenario(Scenario scenario, Traffic traffic, int clients, int requests,
+            long seed, ExecutorService clientThreads) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(clients);
+        List<ScenarioResult.Recorder> recorders = new ArrayList<>();
+        List<Future<?>> running = new ArrayList<>();
+        Map<Long, Long> allocatedBefore = applicationAllocation();
+        long[] gcBefore = gcTotals();
+        long start = System.nanoTime();
+        for (int client = 0; client < clients; client++) {
+            ScenarioResult.Recorder recorder = new ScenarioResult.Recorder();
+            Random random = new Random(seed * 31 + client);
+            recorders.add(recorder);
+            running.add(clientThreads.submit(() -> {
+                scenario.run(traffic, random, requests, barrier, recorder);
+                return null;
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        long wallNanos = System.nanoTime() - start;
+        long[] gcAfter = gcTotals();
+
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : applicationAllocation().entrySet()) {
+            allocated += thread.getValue() - allocatedBefore.getOrDefault(thread.getKey(), 0L);
+        }
+        return new ScenarioResult(scenario.getName(), recorders, wallNanos, allocated,
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    /**
+     * @return Bytes allocated so far by each live thread that is not a load test
+     *         client or the HTTP client's selector, by thread id. Threads that
+     *         ended during the run are not counted.
+     */
+    private static Map<Long, Long> applicationAllocation() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = bean.getAllThreadIds();
+        ThreadInfo[] infos = bean.getThreadInfo(ids);
+        long[] allocated = bean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> byThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && allocated[i] >= 0 && !infos[i].getThreadName().startsWith(CLIENT_THREAD)
+                    && !infos[i].getThreadName().startsWith("HttpClient-")) {
+                byThread.put(ids[i], allocated[i]);
+            }
+        }
+        return byThread;
+    }
+
+    /**
+     * @return Collection count and milliseconds summed over every collector
+     */
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] { count, millis };
+    }
+
+    private static void report(List<ScenarioResult> results) {
+        System.out.printf("%-14s %9s %7s %10s %9s %9s %9s %10s %11s%n", "scenario", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "max ms", "alloc MB/s", "alloc B/req");
+        for (ScenarioResult result : results) {
+            System.out.printf("%-14s %9d %7d %10.1f %9.2f %9.2f %9.2f %10.1f %11d%n", result.getName(),
+                    result.getRequests(), result.getErrors(), result.getThroughput(), result.getLatencyMillis(50),
+                    result.getLatencyMillis(99), result.getLatencyMillis(100),
+                    result.getAllocationMegabytesPerSecond(), result.getAllocatedBytesPerRequest());
+        }
+    }
+
+    private static void write(Path output, Map<String, String> options, List<ScenarioResult> results)
+            throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", new TreeMap<>(options));
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        results.forEach(result -> scenarios.put(result.getName(), result.toMap()));
+        report.put("scenarios", scenarios);
+        if (output.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Results written to " + output);
+    }
+
+    /**
+     * @return 0 if every scenario met the limits, 1 otherwise
+     */
+    private static int check(List<ScenarioResult> results, Map<String, String> options) {
+        double maxP99 = Double.parseDouble(options.getOrDefault("max-p99-ms", "Infinity"));
+        double minThroughput = Double.parseDouble(options.getOrDefault("min-throughput", "0"));
+        int status = 0;
+        for (ScenarioResult result : results) {
+            if (result.getErrors() > 0) {
+                System.out.printf("FAIL %s: %d failed requests, first: %s%n", result.getName(), result.getErrors(),
+                        result.getFirstError());
+                status = 1;
+            }
+            if (result.getLatencyMillis(99) > maxP99) {
+                System.out.printf("FAIL %s: p99 %.2f ms is above %.2f ms%n", result.getName(),
+                        result.getLatencyMillis(99), maxP99);
+                status = 1;
+            }
+            if (result.getThroughput() < minThroughput) {
+                System.out.printf("FAIL %s: %.1f req/s is below %.1f req/s%n", result.getName(),
+                        result.getThroughput(), minThroughput);
+                status = 1;
+            }
+        }
+        return status;
+    }
+}
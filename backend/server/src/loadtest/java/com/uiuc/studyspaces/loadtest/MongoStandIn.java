@@ -0,0 +1,89 @@
+package com.uiuc.studyspaces.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for MongoDB: an in-memory server speaking the Mongo wire
+ * protocol on a local port, seeded with the bundled room_usage_fall2025.json
+ * export. The application talks to it through its normal driver, so the load
+ * test needs neither a MongoDB installation nor network access.
+ */
+final class MongoStandIn implements AutoCloseable {
+
+    static final String DATABASE = "studyspaces";
+    private static final String DATASET = "/room_usage_fall2025.json";
+
+    private final MongoServer server;
+    private final String uri;
+    private final Map<String, List<String>> roomsByBuilding;
+
+    private MongoStandIn(MongoServer server, String uri, Map<String, List<String>> roomsByBuilding) {
+        this.server = server;
+        this.uri = uri;
+        this.roomsByBuilding = roomsByBuilding;
+    }
+
+    /**
+     * Start the server on a free local port and load the dataset into a
+     * collection
+     *
+     * @param collection The collection the application reads the term from
+     * @return The running stand-in
+     * @throws IOException if the dataset cannot be read
+     */
+    static MongoStandIn start(String collection) throws IOException {
+        List<Map<String, Object>> rooms;
+        try (InputStream in = MongoStandIn.class.getResourceAsStream(DATASET)) {
+            if (in == null) {
+                throw new IllegalStateException(DATASET + " is not on the classpath");
+            }
+            rooms = new ObjectMapper().readValue(in, new TypeReference<List<Map<String, Object>>>() {
+            });
+        }
+
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind(); // a free port on localhost
+        String uri = "mongodb://127.0.0.1:" + address.getPort() + "/" + DATABASE;
+        try (MongoClient client = MongoClients.create(uri)) {
+            client.getDatabase(DATABASE).getCollection(collection)
+                    .insertMany(rooms.stream().map(Document::new).collect(Collectors.toList()));
+        }
+        Map<String, List<String>> roomsByBuilding = rooms.stream().collect(Collectors.groupingBy(
+                room -> (String) room.get("building"), TreeMap::new,
+                Collectors.mapping(room -> (String) room.get("room"), Collectors.toList())));
+        return new MongoStandIn(server, uri, roomsByBuilding);
+    }
+
+    /**
+     * @return Connection string for spring.data.mongodb.uri
+     */
+    String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return Room numbers of every building in the dataset, by building name
+     */
+    Map<String, List<String>> getRoomsByBuilding() {
+        return roomsByBuilding;
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.uiuc.studyspaces.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Traffic shapes the load test drives. Each client runs a scenario on its own
+ * thread, closed loop: it sends its next request as soon as the previous one is
+ * answered.
+ */
+enum Scenario {
+
+    /**
+     * Steady browsing of the map
+     */
+    BROWSE("browse") {
+        @Override
+        void run(Traffic traffic, Random random, int requests, CyclicBarrier barrier,
+                ScenarioResult.Recorder recorder) {
+            for (int i = 0; i < requests; i++) {
+                traffic.get(traffic.browse(random), recorder);
+            }
+        }
+    },
+
+    /**
+     * Everyone looking for a room at once as a class period ends: all clients
+     * wait for each other, then burst requests for times just after the change
+     */
+    CLASS_CHANGE("class-change") {
+        @Override
+        void run(Traffic traffic, Random random, int requests, CyclicBarrier barrier,
+                ScenarioResult.Recorder recorder) throws InterruptedException, BrokenBarrierException {
+            for (int round = 0; round < requests / BURST; round++) {
+                // Classes end at :50 and the next ones start on the hour
+                int change = 8 * 60 + 50 + round % 16 / 2 * 60 + round % 2 * 10;
+                String day = Traffic.day(round / 16);
+                barrier.await();
+                for (int i = 0; i < BURST; i++) {
+                    int minute = change + random.nextInt(3);
+                    String time = String.format("%02d:%02d", minute / 60, minute % 60);
+                    traffic.get(random.nextInt(4) == 0
+                            ? traffic.freeRooms(day, time)
+                            : traffic.buildingRooms(traffic.building(random), day, time), recorder);
+                }
+            }
+        }
+    },
+
+    /**
+     * The map opening: the building list, then every building's rooms
+     */
+    FAN_OUT("fan-out") {
+        @Override
+        void run(Traffic traffic, Random random, int requests, CyclicBarrier barrier,
+                ScenarioResult.Recorder recorder) throws IOException {
+            int sent = 0;
+            while (sent < requests) {
+                byte[] body = traffic.get("/api/buildings", recorder);
+                sent++;
+                if (body == null) {
+                    continue;
+                }
+                List<String> buildings = JSON.readValue(body, new TypeReference<List<String>>() {
+                });
+                String day = Traffic.day(random);
+                String time = Traffic.time(random);
+                for (String building : buildings) {
+                    if (sent == requests) {
+                        break;
+                    }
+                    if (traffic.canOpen(building)) {
+                        traffic.get(traffic.buildingRooms(building, day, time), recorder);
+                        sent++;
+                    }
+                }
+            }
+        }
+    };
+
+    private static final int BURST = 5;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @param traffic  Issues the requests
+     * @param random   The client's seeded source of choices
+     * @param requests Requests this client sends
+     * @param barrier  Shared by all clients of the run, for synchronized bursts
+     * @param recorder The client's latencies
+     */
+    abstract void run(Traffic traffic, Random random, int requests, CyclicBarrier barrier,
+            ScenarioResult.Recorder recorder) throws Exception;
+
+    static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.name.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+}
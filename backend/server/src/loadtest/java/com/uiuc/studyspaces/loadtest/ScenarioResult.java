@@ -0,0 +1,137 @@
+package com.uiuc.studyspaces.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency, throughput and allocation of one scenario run
+ */
+final class ScenarioResult {
+
+    private final String name;
+    private final long[] latencies; // nanoseconds, sorted
+    private final int errors;
+    private final String firstError;
+    private final long wallNanos;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+
+    /**
+     * @param recorders      One recorder per client
+     * @param wallNanos      Time from the first request to the last response
+     * @param allocatedBytes Bytes allocated by application threads meanwhile
+     * @param gcCount        Garbage collections meanwhile
+     * @param gcMillis       Time spent in garbage collection meanwhile
+     */
+    ScenarioResult(String name, List<Recorder> recorders, long wallNanos, long allocatedBytes, long gcCount,
+            long gcMillis) {
+        this.name = name;
+        this.latencies = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.count))
+                .sorted()
+                .toArray();
+        this.errors = recorders.stream().mapToInt(recorder -> recorder.errors).sum();
+        this.firstError = recorders.stream()
+                .map(recorder -> recorder.firstError)
+                .filter(error -> error != null)
+                .findFirst()
+                .orElse(null);
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getRequests() {
+        return latencies.length + errors;
+    }
+
+    int getErrors() {
+        return errors;
+    }
+
+    String getFirstError() {
+        return firstError;
+    }
+
+    double getThroughput() {
+        return getRequests() / (wallNanos / 1e9);
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return Latency of successful requests at the percentile, nearest rank
+     */
+    double getLatencyMillis(double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return latencies[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    double getAllocationMegabytesPerSecond() {
+        return allocatedBytes / 1e6 / (wallNanos / 1e9);
+    }
+
+    long getAllocatedBytesPerRequest() {
+        return getRequests() == 0 ? 0 : allocatedBytes / getRequests();
+    }
+
+    /**
+     * @return The figures by name, for the JSON report
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", getRequests());
+        map.put("errors", errors);
+        map.put("seconds", round(wallNanos / 1e9));
+        map.put("throughputPerSecond", round(getThroughput()));
+        map.put("p50Millis", round(getLatencyMillis(50)));
+        map.put("p99Millis", round(getLatencyMillis(99)));
+        map.put("maxMillis", round(getLatencyMillis(100)));
+        map.put("allocationMegabytesPerSecond", round(getAllocationMegabytesPerSecond()));
+        map.put("allocatedBytesPerRequest", getAllocatedBytesPerRequest());
+        map.put("gcCount", gcCount);
+        map.put("gcMillis", gcMillis);
+        if (firstError != null) {
+            map.put("firstError", firstError);
+        }
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Latencies of one client; not thread-safe, every client has its own
+     */
+    static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private String firstError;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void error(String message) {
+            if (errors++ == 0) {
+                firstError = message;
+            }
+        }
+    }
+}
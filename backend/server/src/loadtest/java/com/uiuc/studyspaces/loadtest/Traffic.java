@@ -0,0 +1,151 @@
+package com.uiuc.studyspaces.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Issues API requests the way the frontend does and records their latency.
+ * Every choice (building, room, day, time) is drawn from the caller's seeded
+ * Random, so a run with the same seed and client count sends the same requests.
+ */
+final class Traffic {
+
+    private static final String[] WEEKDAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> buildings;
+    private final Set<String> openable;
+    private final Map<String, List<String>> roomsByBuilding;
+
+    /**
+     * @param baseUrl         Root URL of the running application
+     * @param roomsByBuilding Room numbers of every building in the dataset
+     * @param executor        Threads the HTTP client runs on; named so their
+     *                        allocation is not counted as the application's
+     */
+    Traffic(String baseUrl, Map<String, List<String>> roomsByBuilding, ExecutorService executor) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.baseUrl = baseUrl;
+        this.roomsByBuilding = roomsByBuilding;
+        // Names with a slash cannot be sent as a path segment: Tomcat rejects an
+        // encoded slash, so the frontend cannot open those buildings either
+        this.buildings = new ArrayList<>();
+        roomsByBuilding.keySet().stream().filter(building -> !building.contains("/")).forEach(buildings::add);
+        this.openable = new HashSet<>(buildings);
+    }
+
+    /**
+     * @return false for a building whose name cannot be sent in a URL path
+     */
+    boolean canOpen(String building) {
+        return openable.contains(building);
+    }
+
+    /**
+     * GET an API path and record its latency, or an error for anything but 200
+     *
+     * @return The response body, decompressed, or null on error
+     */
+    byte[] get(String path, ScenarioResult.Recorder recorder) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long nanos = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                recorder.error(path + " returned " + response.statusCode());
+                return null;
+            }
+            recorder.record(nanos);
+            boolean gzip = response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent();
+            return gzip ? new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes()
+                    : response.body();
+        } catch (IOException e) {
+            recorder.error(path + " failed: " + e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.error(path + " interrupted");
+            return null;
+        }
+    }
+
+    String buildingRooms(String building, String day, String time) {
+        return "/api/buildings/" + segment(building) + "/rooms?day=" + day + "&time=" + time;
+    }
+
+    String freeRooms(String day, String time) {
+        return "/api/rooms/free?day=" + day + "&time=" + time;
+    }
+
+    /**
+     * A request from someone browsing the map: mostly one building's rooms, some
+     * campus-wide free room lists, typeahead, room details and heatmaps
+     */
+    String browse(Random random) {
+        String building = building(random);
+        int pick = random.nextInt(100);
+        if (pick < 50) {
+            return buildingRooms(building, day(random), time(random));
+        } else if (pick < 65) {
+            return freeRooms(day(random), time(random));
+        } else if (pick < 80) {
+            String prefix = building.substring(0, Math.min(building.length(), 2 + random.nextInt(5)));
+            return "/api/search?q=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8);
+        } else if (pick < 90) {
+            List<String> rooms = roomsByBuilding.get(building);
+            return "/api/rooms/" + segment(building) + "/" + segment(rooms.get(random.nextInt(rooms.size())));
+        } else {
+            return "/api/buildings/" + segment(building) + "/heatmap";
+        }
+    }
+
+    String building(Random random) {
+        return buildings.get(random.nextInt(buildings.size()));
+    }
+
+    static String day(Random random) {
+        return WEEKDAYS[random.nextInt(WEEKDAYS.length)];
+    }
+
+    static String day(int index) {
+        return WEEKDAYS[Math.floorMod(index, WEEKDAYS.length)];
+    }
+
+    /**
+     * @return A time between 07:00 and 22:59, to the minute
+     */
+    static String time(Random random) {
+        int minute = 7 * 60 + random.nextInt(16 * 60);
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+
+    private static String segment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -2,8 +2,10 @@ package com.uiuc.studyspaces;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class StudyspacesApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,58 @@
+package com.uiuc.studyspaces.config;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.service.SemesterTerms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Creates the indexes declared on the document classes at startup, in the
+ * collection of every term. Spring Data no longer does this by default, and the
+ * collections are created by the scraper rather than by this application.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final SemesterTerms terms;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+            SemesterTerms terms) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.terms = terms;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesInBackground() {
+        // An unreachable server would otherwise hold up startup for the driver's
+        // server selection timeout per term
+        Thread thread = new Thread(this::ensureIndexes, "mongo-index-setup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void ensureIndexes() {
+        for (String term : terms.getNames()) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(terms.getCollection(term), RoomUsage.class);
+                new MongoPersistentEntityIndexResolver(mappingContext)
+                        .resolveIndexFor(RoomUsage.class)
+                        .forEach(indexOps::createIndex);
+            } catch (RuntimeException e) {
+                // Queries still work without the index, just with collection scans
+                log.warn("Could not create indexes on the room usage collection for {}", term, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.uiuc.studyspaces.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application settings under the {@code studyspaces} prefix in
+ * application.properties. Every setting has a default so the backend runs
+ * without any of them configured.
+ */
+@ConfigurationProperties(prefix = "studyspaces")
+public class StudySpacesProperties {
+
+    private final BuildingHours buildingHours = new BuildingHours();
+    private final Metrics metrics = new Metrics();
+    private final Index index = new Index();
+    private final Snapshot snapshot = new Snapshot();
+    private final Http http = new Http();
+    private final Stream stream = new Stream();
+    private final Reload reload = new Reload();
+    private final Parallel parallel = new Parallel();
+    private final StatusCache statusCache = new StatusCache();
+    private List<Term> terms = new ArrayList<>(List.of(new Term("fall2025", "room_usage_fall2025")));
+
+    public BuildingHours getBuildingHours() {
+        return buildingHours;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Index getIndex() {
+        return index;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public Reload getReload() {
+        return reload;
+    }
+
+    public Parallel getParallel() {
+        return parallel;
+    }
+
+    public StatusCache getStatusCache() {
+        return statusCache;
+    }
+
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    public void setTerms(List<Term> terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * Hours during which buildings are open; free ranges are only reported inside
+     * this window
+     */
+    public static class BuildingHours {
+        private String open = "07:00";
+        private String close = "23:00";
+
+        public String getOpen() {
+            return open;
+        }
+
+        public void setOpen(String open) {
+            this.open = open;
+        }
+
+        public String getClose() {
+            return close;
+        }
+
+        public void setClose(String close) {
+            this.close = close;
+        }
+    }
+
+    /**
+     * Availability query instrumentation
+     */
+    public static class Metrics {
+        private double traceSampleRate = 0.01; // fraction of queries traced when debug logging is on
+
+        public double getTraceSampleRate() {
+            return traceSampleRate;
+        }
+
+        public void setTraceSampleRate(double traceSampleRate) {
+            this.traceSampleRate = traceSampleRate;
+        }
+    }
+
+    /**
+     * Loading of the in-memory schedule index
+     */
+    public static class Index {
+        private Mode mode = Mode.MEMORY;
+        private int pageSize = 500; // documents read from Mongo per page while warming
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public enum Mode {
+            MEMORY, // hold the whole schedule in memory and evaluate queries in Java
+            AGGREGATION // keep nothing in memory; building status is evaluated by a Mongo aggregation
+        }
+    }
+
+    /**
+     * Local binary snapshot of the schedule collection
+     */
+    public static class Snapshot {
+        private String path; // snapshot file, unset to always warm from Mongo
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * HTTP caching of API responses
+     */
+    public static class Http {
+        private Duration cacheMaxAge = Duration.ofMinutes(5); // Cache-Control max-age of versioned responses
+        private boolean compression = true; // gzip JSON and text responses; false leaves server.compression in charge
+
+        public Duration getCacheMaxAge() {
+            return cacheMaxAge;
+        }
+
+        public void setCacheMaxAge(Duration cacheMaxAge) {
+            this.cacheMaxAge = cacheMaxAge;
+        }
+
+        public boolean isCompression() {
+            return compression;
+        }
+
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of room status changes
+     */
+    public static class Stream {
+        private String timeZone = "America/Chicago"; // campus time zone the schedule is in
+        private Duration timeout = Duration.ofMinutes(30); // clients reconnect after this
+
+        public String getTimeZone() {
+            return timeZone;
+        }
+
+        public void setTimeZone(String timeZone) {
+            this.timeZone = timeZone;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Keeping the in-memory schedule index in sync with Mongo after warm-up
+     */
+    public static class Reload {
+        private Mode mode = Mode.AUTO;
+        private Duration pollInterval = Duration.ofMinutes(1); // how often POLL mode checks the collection
+        private Duration quietPeriod = Duration.ofSeconds(2); // changes are applied once none arrived for this long
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getQuietPeriod() {
+            return quietPeriod;
+        }
+
+        public void setQuietPeriod(Duration quietPeriod) {
+            this.quietPeriod = quietPeriod;
+        }
+
+        public enum Mode {
+            AUTO, // apply changes from a change stream, or poll when the server has none (standalone)
+            POLL, // reload a term when its collection's document count or newest id differs from its index
+            OFF // keep the index as warmed until restart
+        }
+    }
+
+    /**
+     * Splitting campus-wide work by building across a dedicated thread pool
+     */
+    public static class Parallel {
+        private int parallelism; // pool threads, 0 for one per core; 1 runs everything on the request thread
+        private int minRooms = 1000; // smaller jobs run on the request thread
+        private int maxRoomsPerTask = 200; // buildings are split into tasks of about this many rooms
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMinRooms() {
+            return minRooms;
+        }
+
+        public void setMinRooms(int minRooms) {
+            this.minRooms = minRooms;
+        }
+
+        public int getMaxRoomsPerTask() {
+            return maxRoomsPerTask;
+        }
+
+        public void setMaxRoomsPerTask(int maxRoomsPerTask) {
+            this.maxRoomsPerTask = maxRoomsPerTask;
+        }
+    }
+
+    /**
+     * Caching of building status lists between status boundaries
+     */
+    public static class StatusCache {
+        private long maxRooms = 100_000; // rooms held across all cached lists, 0 to disable
+
+        public long getMaxRooms() {
+            return maxRooms;
+        }
+
+        public void setMaxRooms(long maxRooms) {
+            this.maxRooms = maxRooms;
+        }
+    }
+
+    /**
+     * A semester whose schedule is stored in its own collection. A term is served
+     * by default from its start date until the next term starts.
+     */
+    public static class Term {
+        private String name;
+        private String collection;
+        private LocalDate start; // unset for a term that is never selected by date
+
+        public Term() {
+        }
+
+        public Term(String name, String collection) {
+            this.name = name;
+            this.collection = collection;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public void setCollection(String collection) {
+            this.collection = collection;
+        }
+
+        public LocalDate getStart() {
+            return start;
+        }
+
+        public void setStart(LocalDate start) {
+            this.start = start;
+        }
+    }
+}
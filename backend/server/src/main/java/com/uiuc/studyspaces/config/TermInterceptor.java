@@ -0,0 +1,49 @@
+package com.uiuc.studyspaces.config;
+
+import com.uiuc.studyspaces.service.SemesterTerms;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Selects the semester named by the {@code term} request parameter for the
+ * duration of an API request; requests without it use the active term
+ */
+public class TermInterceptor implements AsyncHandlerInterceptor {
+
+    private final SemesterTerms terms;
+
+    public TermInterceptor(SemesterTerms terms) {
+        this.terms = terms;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String term = request.getParameter("term");
+        if (term == null) {
+            return true;
+        }
+        if (!terms.contains(term)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown term: " + term);
+            return false;
+        }
+        terms.select(term);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        terms.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        terms.clear();
+    }
+}
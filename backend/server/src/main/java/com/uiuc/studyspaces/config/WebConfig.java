@@ -1,8 +1,13 @@
 package com.uiuc.studyspaces.config;
 
+import com.uiuc.studyspaces.service.SemesterTerms;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -23,4 +28,27 @@ public class WebConfig {
             }
         };
     }
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer(
+            StudySpacesProperties properties) {
+        return factory -> {
+            if (properties.getHttp().isCompression()) {
+                // Default mime types cover application/json but not streamed application/x-ndjson
+                Compression compression = new Compression();
+                compression.setEnabled(true);
+                factory.setCompression(compression);
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer termConfigurer(SemesterTerms terms) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TermInterceptor(terms)).addPathPatterns("/api/**");
+            }
+        };
+    }
 }
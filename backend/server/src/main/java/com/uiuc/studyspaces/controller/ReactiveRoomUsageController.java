@@ -0,0 +1,94 @@
+package com.uiuc.studyspaces.controller;
+
+import com.uiuc.studyspaces.model.FreeRoomResponse;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.service.ReactiveRoomUsageService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variants of the list endpoints of {@link RoomUsageController},
+ * selected by requesting {@code application/x-ndjson}. Every item is written as
+ * one JSON line as soon as it is evaluated instead of after the whole list, so
+ * clients can render large buildings incrementally and a request waiting on
+ * Mongo holds no thread. Responses carry no validators, since they start before
+ * the list they describe is known, and vary by Accept like the JSON responses
+ * of the same URLs.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*") // Temporarily allow all for frontend testing
+public class ReactiveRoomUsageController {
+
+    private final ReactiveRoomUsageService service;
+
+    public ReactiveRoomUsageController(ReactiveRoomUsageService service) {
+        this.service = service;
+    }
+
+    @GetMapping(value = "/rooms", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<RoomUsage>> streamAvailableRooms(
+            @RequestParam String building,
+            @RequestParam String day,
+            @RequestParam String time) {
+        return stream(service.getAvailableRooms(building, day, time));
+    }
+
+    /**
+     * Stream every free room on campus for a specific day and time
+     *
+     * @param day            The day of the week (query parameter)
+     * @param time           The time to check availability in HH:mm format (query
+     *                       parameter)
+     * @param minFreeMinutes Optional minimum number of minutes the room must stay
+     *                       free (query parameter)
+     * @return FreeRoomResponse objects across all buildings, one per line
+     */
+    @GetMapping(value = "/rooms/free", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<FreeRoomResponse>> streamFreeRoomsOnCampus(
+            @RequestParam String day,
+            @RequestParam String time,
+            @RequestParam(required = false) Integer minFreeMinutes) {
+        return stream(service.getFreeRoomsOnCampus(day, time, minFreeMinutes));
+    }
+
+    /**
+     * Stream all rooms in a building with their availability status for a specific
+     * day and time
+     *
+     * @param building The building name (path variable)
+     * @param day      The day of the week (query parameter)
+     * @param time     The time to check availability in HH:mm format (query
+     *                 parameter)
+     * @return RoomStatusResponse objects, one per line
+     */
+    @GetMapping(value = "/buildings/{building}/rooms", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<RoomStatusResponse>> streamAllRoomsInBuilding(
+            @PathVariable String building,
+            @RequestParam String day,
+            @RequestParam String time) {
+        return stream(service.getAllRoomsWithStatus(building, day, time));
+    }
+
+    private static <T> ResponseEntity<Flux<T>> stream(Flux<T> items) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(items);
+    }
+
+    // Arguments are validated before streaming starts, so errors can still be
+    // answered in plain text like the blocking endpoints'
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleError(Exception e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.TEXT_PLAIN)
+                .body("An error occurred while fetching room data: " + e.getMessage());
+    }
+}
@@ -1,13 +1,24 @@
 package com.uiuc.studyspaces.controller;
 
-import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.BatchStatusRequest;
+import com.uiuc.studyspaces.model.HeatmapResponse;
 import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.service.RoomStatusBroadcaster;
 import com.uiuc.studyspaces.service.RoomUsageService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api")
@@ -15,19 +26,87 @@ import java.util.List;
 public class RoomUsageController {
 
     private final RoomUsageService service;
+    private final RoomStatusBroadcaster broadcaster;
+    private final CacheControl cacheControl;
 
-    public RoomUsageController(RoomUsageService service) {
+    public RoomUsageController(RoomUsageService service, RoomStatusBroadcaster broadcaster,
+            StudySpacesProperties properties) {
         this.service = service;
+        this.broadcaster = broadcaster;
+        this.cacheControl = CacheControl.maxAge(properties.getHttp().getCacheMaxAge()).cachePublic();
     }
 
     @GetMapping("/rooms")
     public ResponseEntity<?> getAvailableRooms(
             @RequestParam String building,
             @RequestParam String day,
-            @RequestParam String time) {
+            @RequestParam String time,
+            WebRequest request) {
+        try {
+            service.validateQuery(day, time, null);
+            return cacheable(request, service.getBuildingVersion(building),
+                    () -> service.getAvailableRooms(building, day, time));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get every free room on campus for a specific day and time
+     *
+     * @param day            The day of the week (query parameter)
+     * @param time           The time to check availability in HH:mm format (query
+     *                       parameter)
+     * @param minFreeMinutes Optional minimum number of minutes the room must stay
+     *                       free (query parameter)
+     * @return List of FreeRoomResponse objects across all buildings
+     */
+    @GetMapping("/rooms/free")
+    public ResponseEntity<?> getFreeRoomsOnCampus(
+            @RequestParam String day,
+            @RequestParam String time,
+            @RequestParam(required = false) Integer minFreeMinutes,
+            WebRequest request) {
         try {
-            List<RoomUsage> rooms = service.getAvailableRooms(building, day, time);
-            return ResponseEntity.ok(rooms);
+            service.validateQuery(day, time, minFreeMinutes);
+            return cacheable(request, () -> service.getFreeRoomsOnCampus(day, time, minFreeMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the closest buildings to a point that have a room free at a specific
+     * day and time
+     *
+     * @param lat            Latitude of the point in degrees (query parameter)
+     * @param lng            Longitude of the point in degrees (query parameter)
+     * @param day            The day of the week (query parameter)
+     * @param time           The time to check availability in HH:mm format (query
+     *                       parameter)
+     * @param k              Number of buildings, 1-20 (query parameter, default 5)
+     * @param minFreeMinutes Optional minimum number of minutes the room must stay
+     *                       free (query parameter)
+     * @return List of NearbyBuildingResponse objects, nearest first
+     */
+    @GetMapping("/rooms/nearest")
+    public ResponseEntity<?> getNearestFreeRooms(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam String day,
+            @RequestParam String time,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) Integer minFreeMinutes,
+            WebRequest request) {
+        try {
+            service.validateNearestQuery(lat, lng, day, time, k, minFreeMinutes);
+            return cacheable(request, () -> service.getNearestFreeRooms(lat, lng, day, time, k, minFreeMinutes));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -37,35 +116,206 @@ public class RoomUsageController {
     }
 
     @GetMapping("/buildings")
-    public List<String> getAllBuildings() {
-        return service.getAllBuildings();
+    public ResponseEntity<List<String>> getAllBuildings(WebRequest request) {
+        return cacheable(request, service::getAllBuildings);
+    }
+
+    /**
+     * Suggest buildings and rooms for a partially typed name, e.g. "sieb 11"
+     *
+     * @param q     The text typed so far (query parameter)
+     * @param limit Maximum number of results, 1-50 (query parameter, default 10)
+     * @return List of SearchResult objects, best match first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        try {
+            service.validateSearchLimit(limit);
+            return cacheable(request, () -> service.search(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
     }
 
     @GetMapping("/rooms/{building}/{room}")
-    public RoomUsage getRoomDetails(
+    public ResponseEntity<RoomUsage> getRoomDetails(
             @PathVariable String building,
-            @PathVariable String room) {
-        return service.getRoomByName(building, room);
+            @PathVariable String room,
+            WebRequest request) {
+        return cacheable(request, service.getBuildingVersion(building.trim()),
+                () -> service.getRoomByName(building, room));
     }
 
     /**
      * Get all rooms in a building with their availability status for a specific day
      * and time
-     * 
+     *
      * @param building The building name (path variable)
      * @param day      The day of the week (query parameter)
      * @param time     The time to check availability in HH:mm format (query
      *                 parameter)
-     * @return List of RoomStatusResponse objects containing room status information
+     * @param format   "compact" for parallel arrays instead of one object per
+     *                 room (optional query parameter)
+     * @return List of RoomStatusResponse objects containing room status
+     *         information, or a CompactRoomStatusResponse
      */
     @GetMapping("/buildings/{building}/rooms")
     public ResponseEntity<?> getAllRoomsInBuilding(
             @PathVariable String building,
             @RequestParam String day,
-            @RequestParam String time) {
+            @RequestParam String time,
+            @RequestParam(required = false) String format,
+            WebRequest request) {
+        try {
+            boolean compact = isCompact(format);
+            service.validateQuery(day, time, null);
+            return cacheable(request, service.getBuildingVersion(building),
+                    () -> formatted(building, compact, service.getAllRoomsWithStatus(building, day, time)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the status of every room in a building at many days and times in one
+     * call, e.g. every hour from 08:00 to 20:00 on Monday-Friday
+     *
+     * @param building The building name (path variable)
+     * @param request  Either a list of day/time probes, or a grid of days with
+     *                 start, end and stepMinutes (request body)
+     * @return BatchStatusResponse with one status string per room, '1' for free
+     *         and '0' for occupied at each probe
+     */
+    @PostMapping("/buildings/{building}/rooms/batch")
+    public ResponseEntity<?> getBatchStatusInBuilding(
+            @PathVariable String building,
+            @RequestBody BatchStatusRequest request) {
+        try {
+            return ResponseEntity.ok(service.getBatchStatus(building, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the average number of free rooms in a building for each bucket of the
+     * building hours on every weekday
+     *
+     * @param building      The building name (path variable)
+     * @param bucketMinutes The bucket length, a multiple of 5 minutes (query
+     *                      parameter, default 15)
+     * @return HeatmapResponse for the building, or 404 if the building is unknown
+     */
+    @GetMapping("/buildings/{building}/heatmap")
+    public ResponseEntity<?> getBuildingHeatmap(
+            @PathVariable String building,
+            @RequestParam(defaultValue = "15") int bucketMinutes,
+            WebRequest request) {
+        try {
+            service.validateBucketMinutes(bucketMinutes);
+            // Unknown buildings fall back to the dataset version, so only
+            // indexed ones may answer conditional requests without a body
+            String version = service.isBuildingIndexed(building) ? service.getBuildingVersion(building) : null;
+            if (version == null) {
+                // Unknown building, or the index is not loaded yet
+                HeatmapResponse heatmap = service.getHeatmap(building, bucketMinutes);
+                return heatmap == null ? ResponseEntity.notFound().build() : cacheable(request, null, () -> heatmap);
+            }
+            return cacheable(request, version, () -> service.getHeatmap(building, bucketMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the free-room heatmap of every building on campus
+     *
+     * @param bucketMinutes The bucket length, a multiple of 5 minutes (query
+     *                      parameter, default 15)
+     * @return List of HeatmapResponse objects ordered by building
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getCampusHeatmap(
+            @RequestParam(defaultValue = "15") int bucketMinutes,
+            WebRequest request) {
+        try {
+            service.validateBucketMinutes(bucketMinutes);
+            return cacheable(request, () -> service.getCampusHeatmap(bucketMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching room data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream status changes of the rooms in a building as Server-Sent Events. The
+     * first event ("snapshot") lists every room's current status; later events
+     * ("status") are sent when a slot starts or ends and list only the rooms that
+     * changed.
+     *
+     * @param building The building name (path variable)
+     * @return Emitter for the event stream
+     */
+    @GetMapping(value = "/buildings/{building}/rooms/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoomStatus(@PathVariable String building) {
+        return broadcaster.subscribe(building);
+    }
+
+    /**
+     * Get all rooms in a building that are free for a whole time window, given
+     * either as an end time or as a number of minutes from the start time
+     *
+     * @param building The building name (path variable)
+     * @param day      The day of the week (query parameter)
+     * @param start    The start of the window in HH:mm format (query parameter)
+     * @param end      The end of the window in HH:mm format, exclusive (query
+     *                 parameter, required unless minutes is given)
+     * @param minutes  The length of the window in minutes (query parameter,
+     *                 required unless end is given)
+     * @param format   "compact" for parallel arrays instead of one object per
+     *                 room (optional query parameter)
+     * @return List of RoomStatusResponse objects for the rooms free for the
+     *         window, or a CompactRoomStatusResponse
+     */
+    @GetMapping("/buildings/{building}/rooms/free")
+    public ResponseEntity<?> getRoomsFreeInBuilding(
+            @PathVariable String building,
+            @RequestParam String day,
+            @RequestParam String start,
+            @RequestParam(required = false) String end,
+            @RequestParam(required = false) Integer minutes,
+            @RequestParam(required = false) String format,
+            WebRequest request) {
         try {
-            List<RoomStatusResponse> rooms = service.getAllRoomsWithStatus(building, day, time);
-            return ResponseEntity.ok(rooms);
+            boolean compact = isCompact(format);
+            if ((end == null) == (minutes == null)) {
+                return ResponseEntity.badRequest().body("Exactly one of 'end' or 'minutes' is required");
+            }
+            service.validateWindow(day, start, end, minutes);
+            if (end != null) {
+                return cacheable(request, service.getBuildingVersion(building),
+                        () -> formatted(building, compact, service.getRoomsFreeBetween(building, day, start, end)));
+            } else {
+                return cacheable(request, service.getBuildingVersion(building),
+                        () -> formatted(building, compact, service.getRoomsFreeFor(building, day, start, minutes)));
+            }
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -73,4 +323,68 @@ public class RoomUsageController {
                     .body("An error occurred while fetching room data: " + e.getMessage());
         }
     }
+
+    private static boolean isCompact(String format) {
+        if (format == null || format.equals("full")) {
+            return false;
+        }
+        if (format.equals("compact")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid format: " + format);
+    }
+
+    private Object formatted(String building, boolean compact, List<RoomStatusResponse> statuses) {
+        return compact ? service.toCompact(building, statuses) : statuses;
+    }
+
+    /**
+     * Wrap a response that is fully determined by the dataset and the request URL
+     * with a strong ETag derived from the dataset version and a public
+     * Cache-Control, so browsers and CloudFront can cache and revalidate it. A
+     * matching If-None-Match is answered with 304 without computing the body, so
+     * callers validate the request's arguments before calling this.
+     * While the service still answers from Mongo there is no version and the
+     * response is returned without validators. Every response varies by Accept,
+     * since some of the same URLs are streamed as NDJSON by
+     * {@link ReactiveRoomUsageController}.
+     *
+     * @param request The current request
+     * @param body    Computes the response body
+     * @return 200 with validators, or 304 if the client's copy is current
+     */
+    private <T> ResponseEntity<T> cacheable(WebRequest request, Supplier<T> body) {
+        return cacheable(request, service.getDatasetVersion(), body);
+    }
+
+    /**
+     * Like {@link #cacheable(WebRequest, Supplier)} for a response that only
+     * depends on one building, so it stays valid while other buildings change
+     *
+     * @param request The current request
+     * @param version Version of the data the response is derived from, or null
+     * @param body    Computes the response body
+     * @return 200 with validators, or 304 if the client's copy is current
+     */
+    private <T> ResponseEntity<T> cacheable(WebRequest request, String version, Supplier<T> body) {
+        if (version == null) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(body.get());
+        }
+
+        ETag etag = ETag.create("\"" + version + "\"");
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(etag, false))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag.formattedTag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag.formattedTag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
 }
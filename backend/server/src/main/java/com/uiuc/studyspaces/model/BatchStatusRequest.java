@@ -0,0 +1,96 @@
+package com.uiuc.studyspaces.model;
+
+import java.util.List;
+
+/**
+ * Request body for a batch status lookup
+ * Either lists the probes explicitly, or describes a grid of every day in days
+ * at every stepMinutes from start to end (inclusive)
+ */
+public class BatchStatusRequest {
+    private List<Probe> probes;
+    private List<String> days;
+    private String start; // HH:mm format
+    private String end; // HH:mm format, inclusive
+    private Integer stepMinutes; // defaults to 60
+
+    // Default constructor
+    public BatchStatusRequest() {
+    }
+
+    // Getters and setters
+    public List<Probe> getProbes() {
+        return probes;
+    }
+
+    public void setProbes(List<Probe> probes) {
+        this.probes = probes;
+    }
+
+    public List<String> getDays() {
+        return days;
+    }
+
+    public void setDays(List<String> days) {
+        this.days = days;
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public void setStart(String start) {
+        this.start = start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+
+    public void setEnd(String end) {
+        this.end = end;
+    }
+
+    public Integer getStepMinutes() {
+        return stepMinutes;
+    }
+
+    public void setStepMinutes(Integer stepMinutes) {
+        this.stepMinutes = stepMinutes;
+    }
+
+    /**
+     * A single day and time to look up
+     */
+    public static class Probe {
+        private String day;
+        private String time; // HH:mm format
+
+        // Default constructor
+        public Probe() {
+        }
+
+        // Constructor with all fields
+        public Probe(String day, String time) {
+            this.day = day;
+            this.time = time;
+        }
+
+        // Getters and setters
+        public String getDay() {
+            return day;
+        }
+
+        public void setDay(String day) {
+            this.day = day;
+        }
+
+        public String getTime() {
+            return time;
+        }
+
+        public void setTime(String time) {
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.uiuc.studyspaces.model;
+
+import java.util.List;
+
+/**
+ * DTO for a batch status lookup over the rooms of a building
+ * statuses.get(r).charAt(p) is '1' if rooms.get(r) is free at probes.get(p) and
+ * '0' if it is occupied
+ */
+public class BatchStatusResponse {
+    private String building;
+    private List<BatchStatusRequest.Probe> probes; // column order of each status string
+    private List<String> rooms;
+    private List<String> statuses;
+
+    // Default constructor
+    public BatchStatusResponse() {
+    }
+
+    // Constructor with all fields
+    public BatchStatusResponse(String building, List<BatchStatusRequest.Probe> probes, List<String> rooms,
+            List<String> statuses) {
+        this.building = building;
+        this.probes = probes;
+        this.rooms = rooms;
+        this.statuses = statuses;
+    }
+
+    // Getters and setters
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public List<BatchStatusRequest.Probe> getProbes() {
+        return probes;
+    }
+
+    public void setProbes(List<BatchStatusRequest.Probe> probes) {
+        this.probes = probes;
+    }
+
+    public List<String> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<String> rooms) {
+        this.rooms = rooms;
+    }
+
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<String> statuses) {
+        this.statuses = statuses;
+    }
+}
@@ -0,0 +1,92 @@
+package com.uiuc.studyspaces.model;
+
+import java.util.List;
+
+/**
+ * DTO for the compact form of a building's room statuses
+ * Holds the fields of RoomStatusResponse as parallel arrays indexed like rooms;
+ * times are minutes since midnight and ranges are flattened into
+ * [start, end, start, end, ...]
+ */
+public class CompactRoomStatusResponse {
+    private String building;
+    private List<String> rooms;
+    private boolean[] open;
+    private Integer[] availableUntil; // null if the room is occupied or free for rest of day
+    private Integer[] availableFrom; // null if the room is open or never frees up
+    private int[][] occupied; // empty for a room that is free all day
+    private int[][] free;
+
+    // Default constructor
+    public CompactRoomStatusResponse() {
+    }
+
+    // Constructor with all fields
+    public CompactRoomStatusResponse(String building, List<String> rooms, boolean[] open, Integer[] availableUntil,
+            Integer[] availableFrom, int[][] occupied, int[][] free) {
+        this.building = building;
+        this.rooms = rooms;
+        this.open = open;
+        this.availableUntil = availableUntil;
+        this.availableFrom = availableFrom;
+        this.occupied = occupied;
+        this.free = free;
+    }
+
+    // Getters and setters
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public List<String> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<String> rooms) {
+        this.rooms = rooms;
+    }
+
+    public boolean[] getOpen() {
+        return open;
+    }
+
+    public void setOpen(boolean[] open) {
+        this.open = open;
+    }
+
+    public Integer[] getAvailableUntil() {
+        return availableUntil;
+    }
+
+    public void setAvailableUntil(Integer[] availableUntil) {
+        this.availableUntil = availableUntil;
+    }
+
+    public Integer[] getAvailableFrom() {
+        return availableFrom;
+    }
+
+    public void setAvailableFrom(Integer[] availableFrom) {
+        this.availableFrom = availableFrom;
+    }
+
+    public int[][] getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(int[][] occupied) {
+        this.occupied = occupied;
+    }
+
+    public int[][] getFree() {
+        return free;
+    }
+
+    public void setFree(int[][] free) {
+        this.free = free;
+    }
+}
@@ -0,0 +1,47 @@
+package com.uiuc.studyspaces.model;
+
+/**
+ * DTO for a free room in a campus-wide search
+ * Contains the room's building and how long it stays free from the query time
+ */
+public class FreeRoomResponse {
+    private String building;
+    private String roomNumber;
+    private String availableUntil; // HH:mm format, null if free for rest of day
+
+    // Default constructor
+    public FreeRoomResponse() {
+    }
+
+    // Constructor with all fields
+    public FreeRoomResponse(String building, String roomNumber, String availableUntil) {
+        this.building = building;
+        this.roomNumber = roomNumber;
+        this.availableUntil = availableUntil;
+    }
+
+    // Getters and setters
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getAvailableUntil() {
+        return availableUntil;
+    }
+
+    public void setAvailableUntil(String availableUntil) {
+        this.availableUntil = availableUntil;
+    }
+}
@@ -0,0 +1,72 @@
+package com.uiuc.studyspaces.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the weekly free-room heatmap of a building
+ * freeRooms.get(day)[i] is the average number of free rooms during the bucket
+ * starting at times.get(i)
+ */
+public class HeatmapResponse {
+    private String building;
+    private int roomCount;
+    private int bucketMinutes;
+    private List<String> times; // HH:mm start of each bucket
+    private Map<String, double[]> freeRooms; // keyed by day, Monday-Friday
+
+    // Default constructor
+    public HeatmapResponse() {
+    }
+
+    // Constructor with all fields
+    public HeatmapResponse(String building, int roomCount, int bucketMinutes, List<String> times,
+            Map<String, double[]> freeRooms) {
+        this.building = building;
+        this.roomCount = roomCount;
+        this.bucketMinutes = bucketMinutes;
+        this.times = times;
+        this.freeRooms = freeRooms;
+    }
+
+    // Getters and setters
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public void setRoomCount(int roomCount) {
+        this.roomCount = roomCount;
+    }
+
+    public int getBucketMinutes() {
+        return bucketMinutes;
+    }
+
+    public void setBucketMinutes(int bucketMinutes) {
+        this.bucketMinutes = bucketMinutes;
+    }
+
+    public List<String> getTimes() {
+        return times;
+    }
+
+    public void setTimes(List<String> times) {
+        this.times = times;
+    }
+
+    public Map<String, double[]> getFreeRooms() {
+        return freeRooms;
+    }
+
+    public void setFreeRooms(Map<String, double[]> freeRooms) {
+        this.freeRooms = freeRooms;
+    }
+}
@@ -0,0 +1,69 @@
+package com.uiuc.studyspaces.model;
+
+import java.util.List;
+
+/**
+ * DTO for a building near a given point and its currently free rooms
+ */
+public class NearbyBuildingResponse {
+    private String building;
+    private double latitude;
+    private double longitude;
+    private long distanceMeters; // straight-line distance from the query point
+    private List<FreeRoomResponse> freeRooms;
+
+    // Default constructor
+    public NearbyBuildingResponse() {
+    }
+
+    // Constructor with all fields
+    public NearbyBuildingResponse(String building, double latitude, double longitude, long distanceMeters,
+            List<FreeRoomResponse> freeRooms) {
+        this.building = building;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceMeters = distanceMeters;
+        this.freeRooms = freeRooms;
+    }
+
+    // Getters and setters
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public long getDistanceMeters() {
+        return distanceMeters;
+    }
+
+    public void setDistanceMeters(long distanceMeters) {
+        this.distanceMeters = distanceMeters;
+    }
+
+    public List<FreeRoomResponse> getFreeRooms() {
+        return freeRooms;
+    }
+
+    public void setFreeRooms(List<FreeRoomResponse> freeRooms) {
+        this.freeRooms = freeRooms;
+    }
+}
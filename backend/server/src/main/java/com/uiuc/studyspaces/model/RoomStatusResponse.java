@@ -10,7 +10,9 @@ public class RoomStatusResponse {
     private String roomNumber;
     private String status; // "OPEN" or "OCCUPIED"
     private String availableUntil; // HH:mm format, null if free for rest of day
+    private String availableFrom; // HH:mm format, when an occupied room frees up; null if open
     private List<RoomUsage.TimeRange> occupiedRanges; // null if room is open
+    private List<RoomUsage.TimeRange> freeRanges; // free gaps within building hours
 
     // Default constructor
     public RoomStatusResponse() {
@@ -25,6 +27,14 @@ public class RoomStatusResponse {
         this.occupiedRanges = occupiedRanges;
     }
 
+    // Constructor with precomputed free-gap fields
+    public RoomStatusResponse(String roomNumber, String status, String availableUntil, String availableFrom,
+            List<RoomUsage.TimeRange> occupiedRanges, List<RoomUsage.TimeRange> freeRanges) {
+        this(roomNumber, status, availableUntil, occupiedRanges);
+        this.availableFrom = availableFrom;
+        this.freeRanges = freeRanges;
+    }
+
     // Getters and setters
     public String getRoomNumber() {
         return roomNumber;
@@ -50,6 +60,14 @@ public class RoomStatusResponse {
         this.availableUntil = availableUntil;
     }
 
+    public String getAvailableFrom() {
+        return availableFrom;
+    }
+
+    public void setAvailableFrom(String availableFrom) {
+        this.availableFrom = availableFrom;
+    }
+
     public List<RoomUsage.TimeRange> getOccupiedRanges() {
         return occupiedRanges;
     }
@@ -57,4 +75,12 @@ public class RoomStatusResponse {
     public void setOccupiedRanges(List<RoomUsage.TimeRange> occupiedRanges) {
         this.occupiedRanges = occupiedRanges;
     }
+
+    public List<RoomUsage.TimeRange> getFreeRanges() {
+        return freeRanges;
+    }
+
+    public void setFreeRanges(List<RoomUsage.TimeRange> freeRanges) {
+        this.freeRanges = freeRanges;
+    }
 }
@@ -1,11 +1,15 @@
 package com.uiuc.studyspaces.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
-@Document(collection = "room_usage_fall2025")
+// Each semester lives in its own collection; reads go to the term selected for
+// the current request (see SemesterTerms)
+@Document(collection = "#{@semesterTerms.getCollection()}")
+@CompoundIndex(name = "building_room", def = "{'building': 1, 'room': 1}")
 public class RoomUsage {
 
     @Id
@@ -17,6 +21,7 @@ public class RoomUsage {
     private List<String> courses;
     private String room_id;
     private String semester;
+    private Location location; // building position, null if not known
 
     // Getters and setters
     public String getId() {
@@ -75,6 +80,14 @@ public class RoomUsage {
         this.semester = semester;
     }
 
+    public Location getLocation() {
+        return location;
+    }
+
+    public void setLocation(Location location) {
+        this.location = location;
+    }
+
     public static class Usage {
         private List<TimeRange> Monday;
         private List<TimeRange> Tuesday;
@@ -160,4 +173,25 @@ public class RoomUsage {
             this.end = end;
         }
     }
+
+    public static class Location {
+        private double latitude;
+        private double longitude;
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public void setLatitude(double latitude) {
+            this.latitude = latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public void setLongitude(double longitude) {
+            this.longitude = longitude;
+        }
+    }
 }
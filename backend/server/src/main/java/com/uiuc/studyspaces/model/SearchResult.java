@@ -0,0 +1,47 @@
+package com.uiuc.studyspaces.model;
+
+/**
+ * DTO for a typeahead search result
+ * Either a building or a room in a building
+ */
+public class SearchResult {
+    private String type; // "BUILDING" or "ROOM"
+    private String building;
+    private String roomNumber; // null for a building
+
+    // Default constructor
+    public SearchResult() {
+    }
+
+    // Constructor with all fields
+    public SearchResult(String type, String building, String roomNumber) {
+        this.type = type;
+        this.building = building;
+        this.roomNumber = roomNumber;
+    }
+
+    // Getters and setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getBuilding() {
+        return building;
+    }
+
+    public void setBuilding(String building) {
+        this.building = building;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+}
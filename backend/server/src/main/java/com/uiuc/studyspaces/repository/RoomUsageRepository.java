@@ -1,12 +1,14 @@
 package com.uiuc.studyspaces.repository;
 
 import com.uiuc.studyspaces.model.RoomUsage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface RoomUsageRepository extends MongoRepository<RoomUsage, String> {
+public interface RoomUsageRepository extends MongoRepository<RoomUsage, String>, RoomUsageRepositoryCustom {
     List<RoomUsage> findByBuilding(String building);
 
     Optional<RoomUsage> findByBuildingAndRoom(String building, String room);
@@ -17,4 +19,10 @@ public interface RoomUsageRepository extends MongoRepository<RoomUsage, String>
      * status
      */
     List<RoomUsage> findByBuildingAndUsageNotNull(String building);
+
+    /**
+     * Read the collection one page at a time without the count query that
+     * findAll(Pageable) issues, used when warming the in-memory index
+     */
+    Slice<RoomUsage> findAllBy(Pageable pageable);
 }
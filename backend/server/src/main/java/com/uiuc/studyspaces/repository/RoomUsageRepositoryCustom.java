@@ -0,0 +1,24 @@
+package com.uiuc.studyspaces.repository;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * Queries that need a field projection chosen at runtime, which derived query
+ * methods cannot express
+ */
+public interface RoomUsageRepositoryCustom {
+
+    /**
+     * Find all rooms in a building, reading only the building, room number and
+     * the usage of one day. Every other field of the returned documents is null,
+     * so they must not be returned to clients as room details.
+     *
+     * @param building The building name
+     * @param day      A weekday between Monday and Friday
+     * @return Partial room usage documents
+     */
+    List<RoomUsage> findDayByBuilding(String building, DayOfWeek day);
+}
@@ -0,0 +1,42 @@
+package com.uiuc.studyspaces.repository;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+public class RoomUsageRepositoryImpl implements RoomUsageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public RoomUsageRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<RoomUsage> findDayByBuilding(String building, DayOfWeek day) {
+        return mongoTemplate.find(dayByBuildingQuery(building, day), RoomUsage.class);
+    }
+
+    /**
+     * Query for the rooms of a building that reads only the room number and one
+     * day's usage, shared with the reactive endpoints
+     *
+     * @param building The building name
+     * @param day      A weekday between Monday and Friday
+     * @return Query with the projection applied
+     */
+    public static Query dayByBuildingQuery(String building, DayOfWeek day) {
+        if (day.getValue() > DayOfWeek.FRIDAY.getValue()) {
+            throw new IllegalArgumentException("Invalid day: " + day);
+        }
+        // Usage fields are named after the day, e.g. usage.Monday
+        String name = day.name();
+        Query query = Query.query(Criteria.where("building").is(building));
+        query.fields().include("building", "room", "usage." + name.charAt(0) + name.substring(1).toLowerCase());
+        return query;
+    }
+}
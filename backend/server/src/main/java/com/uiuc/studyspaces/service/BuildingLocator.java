@@ -0,0 +1,176 @@
+package com.uiuc.studyspaces.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable 2-d tree over building coordinates that lists buildings nearest
+ * first, one at a time, so a caller can stop as soon as it has found enough
+ * buildings it is interested in instead of ranking the whole campus.
+ * <p>
+ * Coordinates are projected onto a plane tangent at the buildings' mean
+ * latitude, which is accurate to well under a meter across a campus, and
+ * distances are straight-line meters in that plane.
+ */
+final class BuildingLocator {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
+    private final String[] buildings; // in tree order: the median of [lo, hi) is the node splitting that range
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] x;
+    private final double[] y;
+    private final double metersPerDegreeX;
+    private final double metersPerDegreeY;
+
+    /**
+     * A building found by a nearest search
+     */
+    record Neighbor(String building, double latitude, double longitude, double distanceMeters) {
+    }
+
+    /**
+     * A building's position
+     */
+    record Location(String building, double latitude, double longitude) {
+    }
+
+    /**
+     * @param locations Building positions in degrees
+     */
+    BuildingLocator(List<Location> locations) {
+        int count = locations.size();
+        double meanLatitude = locations.stream().mapToDouble(Location::latitude).average().orElse(0);
+        this.metersPerDegreeY = Math.toRadians(EARTH_RADIUS_METERS);
+        this.metersPerDegreeX = metersPerDegreeY * Math.cos(Math.toRadians(meanLatitude));
+
+        Location[] sorted = locations.toArray(new Location[0]);
+        build(sorted, 0, count, 0);
+        this.buildings = new String[count];
+        this.latitudes = new double[count];
+        this.longitudes = new double[count];
+        this.x = new double[count];
+        this.y = new double[count];
+        for (int i = 0; i < count; i++) {
+            buildings[i] = sorted[i].building();
+            latitudes[i] = sorted[i].latitude();
+            longitudes[i] = sorted[i].longitude();
+            x[i] = sorted[i].longitude() * metersPerDegreeX;
+            y[i] = sorted[i].latitude() * metersPerDegreeY;
+        }
+    }
+
+    /**
+     * Arrange the range so its median on the depth's axis sits in the middle,
+     * smaller values before it and larger ones after, then recurse into both
+     * halves on the other axis
+     */
+    private static void build(Location[] locations, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        Comparator<Location> axis = depth % 2 == 0
+                ? Comparator.comparingDouble(Location::longitude)
+                : Comparator.comparingDouble(Location::latitude);
+        Arrays.sort(locations, lo, hi, axis);
+        int mid = (lo + hi) >>> 1;
+        build(locations, lo, mid, depth + 1);
+        build(locations, mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * @return Number of buildings with coordinates
+     */
+    int size() {
+        return buildings.length;
+    }
+
+    /**
+     * List buildings by distance from a point. Each call to next() does only the
+     * work needed to prove the returned building is the next closest.
+     *
+     * @param latitude  Latitude of the point in degrees
+     * @param longitude Longitude of the point in degrees
+     * @return Iterator over every building, nearest first
+     */
+    Iterator<Neighbor> nearest(double latitude, double longitude) {
+        return new NearestIterator(longitude * metersPerDegreeX, latitude * metersPerDegreeY);
+    }
+
+    /**
+     * Best-first traversal: the queue holds both subtrees, keyed by the distance
+     * to their bounding box, and single buildings, keyed by their exact distance.
+     * A building at the head of the queue is closer than anything not yet
+     * expanded.
+     */
+    private final class NearestIterator implements Iterator<Neighbor> {
+
+        private final double qx;
+        private final double qy;
+        private final PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance));
+
+        private NearestIterator(double qx, double qy) {
+            this.qx = qx;
+            this.qy = qy;
+            if (buildings.length > 0) {
+                double inf = Double.POSITIVE_INFINITY;
+                queue.add(new Candidate(0, buildings.length, 0, -inf, inf, -inf, inf, 0, -1));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Neighbor next() {
+            while (!queue.isEmpty()) {
+                Candidate head = queue.poll();
+                if (head.point() >= 0) {
+                    int i = head.point();
+                    return new Neighbor(buildings[i], latitudes[i], longitudes[i], head.distance());
+                }
+                expand(head);
+            }
+            throw new NoSuchElementException();
+        }
+
+        private void expand(Candidate range) {
+            int mid = (range.lo() + range.hi()) >>> 1;
+            queue.add(new Candidate(mid, mid + 1, 0, 0, 0, 0, 0, Math.hypot(x[mid] - qx, y[mid] - qy), mid));
+            boolean splitOnX = range.depth() % 2 == 0;
+            double split = splitOnX ? x[mid] : y[mid];
+            if (mid > range.lo()) {
+                add(range.lo(), mid, range.depth() + 1,
+                        range.minX(), splitOnX ? split : range.maxX(),
+                        range.minY(), splitOnX ? range.maxY() : split);
+            }
+            if (range.hi() > mid + 1) {
+                add(mid + 1, range.hi(), range.depth() + 1,
+                        splitOnX ? split : range.minX(), range.maxX(),
+                        splitOnX ? range.minY() : split, range.maxY());
+            }
+        }
+
+        private void add(int lo, int hi, int depth, double minX, double maxX, double minY, double maxY) {
+            double dx = Math.max(0, Math.max(minX - qx, qx - maxX));
+            double dy = Math.max(0, Math.max(minY - qy, qy - maxY));
+            queue.add(new Candidate(lo, hi, depth, minX, maxX, minY, maxY, Math.hypot(dx, dy), -1));
+        }
+    }
+
+    /**
+     * A subtree [lo, hi) with its bounding box, or a single building when point
+     * is not negative
+     */
+    private record Candidate(int lo, int hi, int depth, double minX, double maxX, double minY, double maxY,
+            double distance, int point) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.uiuc.studyspaces.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded cache of building status lists. A building's rooms only change
+ * status at its status boundaries, so every minute between two consecutive
+ * boundaries yields the same list (availableUntil and availableFrom are the
+ * next boundaries, not offsets from the query time). Entries are keyed by that
+ * segment instead of the minute, and by the building's content hash, so an
+ * entry never outlives the schedule it was computed from and unchanged
+ * buildings keep their entries across reloads.
+ * <p>
+ * The cache is bounded by the total number of rooms held, since that is what
+ * its memory use grows with.
+ */
+final class BuildingStatusCache {
+
+    private final Cache<Key, List<RoomStatusResponse>> cache;
+
+    /**
+     * @param maxRooms Total rooms the cached lists may hold before the least
+     *                 useful entries are evicted
+     */
+    BuildingStatusCache(long maxRooms) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxRooms)
+                .<Key, List<RoomStatusResponse>>weigher((key, statuses) -> Math.max(1, statuses.size()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param boundaries Sorted minutes at which a room of the building changes
+     *                   status
+     * @param minute     Minute of the day
+     * @return Number of boundaries at or before the minute, which identifies the
+     *         stretch of the day with constant statuses the minute falls in
+     */
+    static int segment(int[] boundaries, int minute) {
+        int i = Arrays.binarySearch(boundaries, minute);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    /**
+     * @param version Content hash of the building
+     * @param day     A weekday between Monday and Friday
+     * @param segment Segment of the day, see {@link #segment(int[], int)}
+     * @return The cached statuses, or null if they are not cached
+     */
+    List<RoomStatusResponse> get(String version, DayOfWeek day, int segment) {
+        return cache.getIfPresent(new Key(version, day, segment));
+    }
+
+    /**
+     * @param statuses Statuses of every room in the building in that segment;
+     *                 shared by every later caller, so never modified afterwards
+     */
+    void put(String version, DayOfWeek day, int segment, List<RoomStatusResponse> statuses) {
+        cache.put(new Key(version, day, segment), statuses);
+    }
+
+    /**
+     * @return The underlying cache, for metrics
+     */
+    Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    private record Key(String version, DayOfWeek day, int segment) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Dedicated fork/join pool for work that spans many buildings, such as the
+ * campus-wide free room query or building the schedule index. Work is split by
+ * building: a range of buildings is halved until it holds few enough rooms, and
+ * each piece runs as its own task. The pool is separate from the common pool
+ * and bounded, so a few wide queries cannot take every core from the request
+ * threads.
+ * <p>
+ * Tasks run on pool threads, not on the request thread, so they must not
+ * depend on request-scoped state such as the selected term; callers resolve the
+ * index first and hand the tasks only immutable data.
+ */
+@Component
+public class CampusExecutor {
+
+    private final ForkJoinPool pool; // null when work runs on the calling thread
+    private final int minRooms;
+    private final int maxRoomsPerTask;
+    private final MeterRegistry registry;
+    private final Map<String, Timer> taskTimers = new ConcurrentHashMap<>();
+
+    public CampusExecutor(StudySpacesProperties properties, MeterRegistry registry) {
+        StudySpacesProperties.Parallel settings = properties.getParallel();
+        int parallelism = settings.getParallelism() > 0
+                ? settings.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.minRooms = settings.getMinRooms();
+        this.maxRoomsPerTask = Math.max(1, settings.getMaxRoomsPerTask());
+        this.registry = registry;
+        if (parallelism > 1) {
+            this.pool = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("campus-worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+            new ExecutorServiceMetrics(pool, "campus", Tags.empty()).bindTo(registry);
+        } else {
+            this.pool = null;
+        }
+    }
+
+    /**
+     * Apply a function to every building, in parallel when the buildings hold
+     * enough rooms to be worth splitting
+     *
+     * @param task      Name of the work, used as the task timer tag
+     * @param buildings The buildings to process
+     * @param rooms     Number of rooms of a building, used to size the tasks
+     * @param work      The work for one building; called concurrently for
+     *                  different buildings
+     * @return One result per building, in the order of the buildings
+     */
+    public <T> List<T> mapBuildings(String task, List<String> buildings, ToIntFunction<String> rooms,
+            Function<String, T> work) {
+        int[] weights = buildings.stream().mapToInt(rooms).toArray();
+        Object[] results = new Object[buildings.size()];
+        BuildingTask<T> root = new BuildingTask<>(timer(task), buildings, weights, work, results,
+                0, buildings.size());
+        if (pool == null || Arrays.stream(weights).sum() < minRooms || ForkJoinTask.getPool() == pool) {
+            root.compute();
+        } else {
+            pool.invoke(root);
+        }
+        List<T> list = new ArrayList<>(results.length);
+        for (Object result : results) {
+            @SuppressWarnings("unchecked")
+            T typed = (T) result;
+            list.add(typed);
+        }
+        return list;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private Timer timer(String task) {
+        return taskTimers.computeIfAbsent(task, name -> Timer.builder("studyspaces.campus.tasks")
+                .description("Time spent by each piece of campus-wide work")
+                .tag("task", name)
+                .register(registry));
+    }
+
+    /**
+     * Buildings [from, to), split in halves until a piece holds at most
+     * maxRoomsPerTask rooms or a single building
+     */
+    private final class BuildingTask<T> extends RecursiveAction {
+
+        private final Timer timer;
+        private final List<String> buildings;
+        private final int[] weights;
+        private final Function<String, T> work;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+
+        private BuildingTask(Timer timer, List<String> buildings, int[] weights, Function<String, T> work,
+                Object[] results, int from, int to) {
+            this.timer = timer;
+            this.buildings = buildings;
+            this.weights = weights;
+            this.work = work;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int rooms = 0;
+            for (int i = from; i < to; i++) {
+                rooms += weights[i];
+            }
+            if (to - from > 1 && rooms > maxRoomsPerTask && getPool() == pool) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BuildingTask<>(timer, buildings, weights, work, results, from, middle),
+                        new BuildingTask<>(timer, buildings, weights, work, results, middle, to));
+                return;
+            }
+            long start = System.nanoTime();
+            for (int i = from; i < to; i++) {
+                results[i] = work.apply(buildings.get(i));
+            }
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Occupancy of a single room on a single day as a 1440-bit minute bitmap (bit
+ * m set means the room is in use during minute m) plus the sorted list of free
+ * gaps derived from it. The raw {@link RoomUsage.TimeRange} strings are parsed
+ * once when the schedule is built, so availability checks on the request path
+ * are plain bit operations or binary searches that neither parse nor allocate.
+ */
+public final class DaySchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+
+    // "HH:mm" labels for every minute so responses never format on the hot path
+    private static final String[] MINUTE_LABELS = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            MINUTE_LABELS[minute] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+    }
+
+    private final List<RoomUsage.TimeRange> ranges;
+    private final long[] occupied;
+    private final int[] gapStarts; // sorted free gaps over the whole day
+    private final int[] gapEnds;
+    private final List<RoomUsage.TimeRange> freeRanges; // gaps clipped to building hours
+
+    private DaySchedule(List<RoomUsage.TimeRange> ranges, long[] occupied, OpeningHours hours) {
+        this.ranges = ranges;
+        this.occupied = occupied;
+
+        // Walk the bitmap once to count the gaps, then again to record them
+        int gapCount = 0;
+        for (int from = nextFreeMinute(0); from < MINUTES_PER_DAY; from = nextFreeMinute(gapEndFrom(from))) {
+            gapCount++;
+        }
+        this.gapStarts = new int[gapCount];
+        this.gapEnds = new int[gapCount];
+        List<RoomUsage.TimeRange> clipped = new ArrayList<>();
+        int from = nextFreeMinute(0);
+        for (int gap = 0; gap < gapCount; gap++) {
+            gapStarts[gap] = from;
+            gapEnds[gap] = gapEndFrom(from);
+            hours.addClipped(gapStarts[gap], gapEnds[gap], clipped);
+            from = nextFreeMinute(gapEnds[gap]);
+        }
+        this.freeRanges = Collections.unmodifiableList(clipped);
+    }
+
+    /**
+     * Build the schedule for one day from the raw time ranges stored in Mongo
+     *
+     * @param ranges The occupied time ranges for the day, may be null
+     * @param hours  The building hours free ranges are clipped to
+     * @return DaySchedule for the day
+     */
+    static DaySchedule of(List<RoomUsage.TimeRange> ranges, OpeningHours hours) {
+        if (ranges == null || ranges.isEmpty()) {
+            return hours.getFreeAllDay();
+        }
+
+        long[] occupied = new long[WORDS];
+        for (RoomUsage.TimeRange range : ranges) {
+            setRange(occupied, toMinuteOfDay(range.getStart()), toMinuteOfDay(range.getEnd()));
+        }
+        return new DaySchedule(ranges, occupied, hours);
+    }
+
+    /**
+     * Build the schedule of a day without any usage, shared by every such day
+     *
+     * @param hours The building hours free ranges are clipped to
+     * @return DaySchedule that is free all day
+     */
+    static DaySchedule freeAllDay(OpeningHours hours) {
+        return new DaySchedule(null, new long[WORDS], hours);
+    }
+
+    /**
+     * @return The raw occupied ranges for the day in their stored order, or null
+     *         if the room is not used that day
+     */
+    public List<RoomUsage.TimeRange> getRanges() {
+        return ranges;
+    }
+
+    public boolean isEmpty() {
+        return ranges == null;
+    }
+
+    /**
+     * @return The free ranges for the day within building hours, sorted by start
+     */
+    public List<RoomUsage.TimeRange> getFreeRanges() {
+        return freeRanges;
+    }
+
+    /**
+     * Check whether the room is occupied at the given minute, using the same
+     * half-open [start, end) rule as the original range scan
+     *
+     * @param minute Minute of the day (0-1439)
+     * @return true if any range covers the minute
+     */
+    public boolean isOccupiedAt(int minute) {
+        return (occupied[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    /**
+     * Check whether the room is free for the whole half-open window [from, to)
+     *
+     * @param from First minute of the window
+     * @param to   Minute the window ends (exclusive), at most
+     *             {@link #MINUTES_PER_DAY}
+     * @return true if a single free gap covers the window
+     */
+    public boolean isFreeBetween(int from, int to) {
+        return freeUntil(from) >= to;
+    }
+
+    /**
+     * Find when the free gap containing the given minute ends, by binary search
+     * over the precomputed gaps
+     *
+     * @param minute Minute of the day (0-1439)
+     * @return End of the gap, {@link #MINUTES_PER_DAY} if the room is free for
+     *         the rest of the day, or -1 if the room is occupied at the minute
+     */
+    public int freeUntil(int minute) {
+        int gap = lastGapStartingAtOrBefore(minute);
+        return gap >= 0 && gapEnds[gap] > minute ? gapEnds[gap] : -1;
+    }
+
+    /**
+     * Find the start of the first free gap strictly after the given minute. When
+     * the room is occupied at {@code minute} this is the time it is available
+     * from.
+     *
+     * @param minute Minute of the day (0-1439)
+     * @return Start of the next gap, or -1 if there is none
+     */
+    public int nextFreeAfter(int minute) {
+        int gap = lastGapStartingAtOrBefore(minute) + 1;
+        return gap < gapStarts.length ? gapStarts[gap] : -1;
+    }
+
+    /**
+     * Mark every minute at which the room's status flips between free and
+     * occupied, i.e. the start and end of each free gap other than midnight
+     *
+     * @param boundaries One flag per minute of the day
+     */
+    void markStatusBoundaries(boolean[] boundaries) {
+        for (int gap = 0; gap < gapStarts.length; gap++) {
+            if (gapStarts[gap] > 0) {
+                boundaries[gapStarts[gap]] = true;
+            }
+            if (gapEnds[gap] < MINUTES_PER_DAY) {
+                boundaries[gapEnds[gap]] = true;
+            }
+        }
+    }
+
+    /**
+     * Add the room's free gaps to a difference array, +1 at the start and -1 at
+     * the end of each gap, so a running sum gives the free rooms at each minute
+     *
+     * @param delta One counter per minute of the day plus one
+     */
+    void addFreeGaps(int[] delta) {
+        for (int gap = 0; gap < gapStarts.length; gap++) {
+            delta[gapStarts[gap]]++;
+            delta[gapEnds[gap]]--;
+        }
+    }
+
+    private int gapEndFrom(int freeMinute) {
+        int nextOccupied = nextOccupiedMinute(freeMinute);
+        return nextOccupied < 0 ? MINUTES_PER_DAY : nextOccupied;
+    }
+
+    private int lastGapStartingAtOrBefore(int minute) {
+        int low = 0;
+        int high = gapStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (gapStarts[mid] <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Find the first occupied minute at or after the given minute. When the room
+     * is free at {@code from} this is the time it is available until.
+     *
+     * @param from Minute of the day to start searching from
+     * @return Minute of the day, or -1 if the room stays free for the rest of the
+     *         day
+     */
+    public int nextOccupiedMinute(int from) {
+        if (from >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        int wordIndex = from >>> 6;
+        long word = occupied[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == WORDS) {
+                return -1;
+            }
+            word = occupied[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Find the first free minute at or after the given minute. When the room is
+     * occupied at {@code from} this is the time it frees up.
+     *
+     * @param from Minute of the day to start searching from
+     * @return Minute of the day, or {@link #MINUTES_PER_DAY} if the room stays
+     *         occupied until midnight
+     */
+    public int nextFreeMinute(int from) {
+        if (from >= MINUTES_PER_DAY) {
+            return MINUTES_PER_DAY;
+        }
+        int wordIndex = from >>> 6;
+        long word = ~occupied[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == WORDS) {
+                return MINUTES_PER_DAY;
+            }
+            word = ~occupied[wordIndex];
+        }
+        return Math.min((wordIndex << 6) + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        to = Math.min(to, MINUTES_PER_DAY);
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            bits[i] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    static int toMinuteOfDay(String time) {
+        return LocalTime.parse(time).toSecondOfDay() / 60;
+    }
+
+    static String formatMinuteOfDay(int minute) {
+        return MINUTE_LABELS[minute];
+    }
+}
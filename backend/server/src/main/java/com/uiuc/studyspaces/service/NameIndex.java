@@ -0,0 +1,225 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.SearchResult;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable index over building and room names for lookups and typeahead.
+ * Names are compared by a canonical key (accents stripped, lower case, runs of
+ * whitespace and punctuation collapsed to one space), so "  SIEBEL center for
+ * computer-science" finds "Siebel Center for Computer Science".
+ * <p>
+ * Every word of every key is kept in one sorted array, so the entries with a
+ * word starting with a prefix are a range found by binary search. Building keys
+ * are also indexed by character trigrams, so a misspelled building still
+ * resolves to the closest name.
+ */
+final class NameIndex {
+
+    static final String BUILDING = "BUILDING";
+    static final String ROOM = "ROOM";
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final double MIN_SUGGESTION_SIMILARITY = 0.3;
+    private static final double MIN_RESOLVE_SIMILARITY = 0.6; // stricter, a lookup returns one building
+
+    private final List<SearchResult> entries = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>(); // canonical name of each entry
+    private final String[] words; // sorted words of all keys
+    private final int[] wordEntries; // entry each word belongs to
+    private final Map<String, String> buildingsByKey = new HashMap<>();
+    private final Map<String, int[]> buildingsByTrigram = new HashMap<>();
+    private final Map<String, Integer> trigramCounts = new HashMap<>(); // distinct trigrams per building key
+
+    /**
+     * @param roomsByBuilding Room numbers of each building, in the order rooms
+     *                        should be suggested
+     */
+    NameIndex(Map<String, List<String>> roomsByBuilding) {
+        roomsByBuilding.forEach((building, rooms) -> {
+            add(BUILDING, building, null);
+            rooms.forEach(room -> add(ROOM, building, room));
+        });
+
+        List<Word> all = new ArrayList<>();
+        for (int entry = 0; entry < keys.size(); entry++) {
+            for (String word : new HashSet<>(Arrays.asList(keys.get(entry).split(" ")))) {
+                all.add(new Word(word, entry));
+            }
+        }
+        all.sort(Comparator.comparing(Word::text));
+        this.words = new String[all.size()];
+        this.wordEntries = new int[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            words[i] = all.get(i).text();
+            wordEntries[i] = all.get(i).entry();
+        }
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int entry = 0; entry < entries.size(); entry++) {
+            if (entries.get(entry).getRoomNumber() == null) {
+                Set<String> trigrams = trigrams(keys.get(entry));
+                trigramCounts.put(keys.get(entry), trigrams.size());
+                for (String trigram : trigrams) {
+                    postings.computeIfAbsent(trigram, t -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        postings.forEach((trigram, list) -> buildingsByTrigram.put(trigram,
+                list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private void add(String type, String building, String room) {
+        String key = canonical(room == null ? building : building + " " + room);
+        if (key.isEmpty()) {
+            return;
+        }
+        if (room == null) {
+            buildingsByKey.putIfAbsent(key, building);
+        }
+        entries.add(new SearchResult(type, building, room));
+        keys.add(key);
+    }
+
+    /**
+     * @param name A building or room name as typed
+     * @return The name's canonical key
+     */
+    static String canonical(String name) {
+        if (name == null) {
+            return "";
+        }
+        String stripped = ACCENTS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Find the building a name refers to: the building with the same canonical
+     * key, or else the only building whose name is close enough
+     *
+     * @param name A building name as typed
+     * @return The building's name as stored, or null if none is close enough
+     */
+    String resolveBuilding(String name) {
+        String key = canonical(name);
+        String building = buildingsByKey.get(key);
+        if (building != null || key.isEmpty()) {
+            return building;
+        }
+        List<Map.Entry<Integer, Double>> similar = similarBuildings(key, MIN_RESOLVE_SIMILARITY);
+        if (similar.isEmpty()
+                || similar.size() > 1 && similar.get(1).getValue().equals(similar.get(0).getValue())) {
+            return null;
+        }
+        return entries.get(similar.get(0).getKey()).getBuilding();
+    }
+
+    /**
+     * Suggest buildings and rooms for a partially typed name. Every word of the
+     * query must be the start of a word of the name; when nothing matches that
+     * way, buildings with similar names are suggested instead.
+     *
+     * @param query The text typed so far
+     * @param limit Maximum number of results
+     * @return Names starting with the query first, buildings before rooms
+     */
+    List<SearchResult> search(String query, int limit) {
+        String key = canonical(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        BitSet matches = null;
+        for (String token : key.split(" ")) {
+            BitSet tokenMatches = wordPrefixMatches(token);
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.and(tokenMatches);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>();
+        matches.stream().forEach(ranked::add);
+        if (ranked.isEmpty()) {
+            similarBuildings(key, MIN_SUGGESTION_SIMILARITY).forEach(similar -> ranked.add(similar.getKey()));
+        } else {
+            ranked.sort(Comparator.comparing((Integer entry) -> !keys.get(entry).startsWith(key))
+                    .thenComparing(entry -> entries.get(entry).getRoomNumber() != null)
+                    .thenComparing(entry -> entry));
+        }
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && results.size() < limit; i++) {
+            results.add(entries.get(ranked.get(i)));
+        }
+        return results;
+    }
+
+    private BitSet wordPrefixMatches(String prefix) {
+        BitSet matches = new BitSet(entries.size());
+        // Lower bound: the first word not sorting before the prefix
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (words[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < words.length && words[i].startsWith(prefix); i++) {
+            matches.set(wordEntries[i]);
+        }
+        return matches;
+    }
+
+    /**
+     * @return Building entries by Jaccard similarity of their trigrams to the
+     *         key, most similar first
+     */
+    private List<Map.Entry<Integer, Double>> similarBuildings(String key, double minSimilarity) {
+        Set<String> trigrams = trigrams(key);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams) {
+            for (int entry : buildingsByTrigram.getOrDefault(trigram, new int[0])) {
+                shared.merge(entry, 1, Integer::sum);
+            }
+        }
+        List<Map.Entry<Integer, Double>> similar = new ArrayList<>();
+        shared.forEach((entry, count) -> {
+            int union = trigrams.size() + trigramCounts.get(keys.get(entry)) - count;
+            double similarity = (double) count / union;
+            if (similarity >= minSimilarity) {
+                similar.add(Map.entry(entry, similarity));
+            }
+        });
+        similar.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return similar;
+    }
+
+    private record Word(String text, int entry) {
+    }
+
+    private static Set<String> trigrams(String key) {
+        String padded = " " + key + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
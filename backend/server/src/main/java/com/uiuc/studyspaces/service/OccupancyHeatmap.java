@@ -0,0 +1,97 @@
+package com.uiuc.studyspaces.service;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * Free-room counts of one building over the building hours of each weekday,
+ * kept as prefix sums of free room-minutes at 5-minute steps from opening time.
+ * Built once per dataset load; the free rooms averaged over any bucket that is a
+ * multiple of 5 minutes is then a subtraction per bucket.
+ */
+public final class OccupancyHeatmap {
+
+    public static final int STEP_MINUTES = 5;
+
+    private final int openMinute;
+    private final int closeMinute;
+    private final int roomCount;
+    private final long[][] freeRoomMinutes; // per weekday, free room-minutes before each step
+
+    private OccupancyHeatmap(int openMinute, int closeMinute, int roomCount, long[][] freeRoomMinutes) {
+        this.openMinute = openMinute;
+        this.closeMinute = closeMinute;
+        this.roomCount = roomCount;
+        this.freeRoomMinutes = freeRoomMinutes;
+    }
+
+    /**
+     * @param rooms The rooms of a building
+     * @param hours The building hours the heatmap covers
+     * @return OccupancyHeatmap of the rooms
+     */
+    public static OccupancyHeatmap of(List<RoomSchedule> rooms, OpeningHours hours) {
+        int open = hours.getOpenMinute();
+        int close = hours.getCloseMinute();
+        int steps = (close - open + STEP_MINUTES - 1) / STEP_MINUTES;
+        long[][] byDay = new long[DayOfWeek.FRIDAY.getValue()][];
+
+        for (int day = 1; day <= byDay.length; day++) {
+            int[] delta = new int[DaySchedule.MINUTES_PER_DAY + 1];
+            for (RoomSchedule room : rooms) {
+                room.getDay(DayOfWeek.of(day)).addFreeGaps(delta);
+            }
+
+            long[] prefix = new long[steps + 1];
+            int free = 0;
+            for (int minute = 0; minute < close; minute++) {
+                free += delta[minute];
+                if (minute >= open) {
+                    int step = (minute - open) / STEP_MINUTES;
+                    prefix[step + 1] += free;
+                }
+            }
+            for (int step = 1; step <= steps; step++) {
+                prefix[step] += prefix[step - 1];
+            }
+            byDay[day - 1] = prefix;
+        }
+        return new OccupancyHeatmap(open, close, rooms.size(), byDay);
+    }
+
+    /**
+     * Average number of free rooms in each bucket of a day, starting at opening
+     * time; the last bucket is cut off at closing time
+     *
+     * @param day           A weekday between Monday and Friday
+     * @param bucketMinutes The bucket length, a positive multiple of
+     *                      {@link #STEP_MINUTES}
+     * @return One value per bucket
+     */
+    public double[] averageFreeRooms(DayOfWeek day, int bucketMinutes) {
+        long[] prefix = freeRoomMinutes[day.ordinal()];
+        int stepsPerBucket = bucketMinutes / STEP_MINUTES;
+        int steps = prefix.length - 1;
+        double[] buckets = new double[(steps + stepsPerBucket - 1) / stepsPerBucket];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            int fromStep = bucket * stepsPerBucket;
+            int toStep = Math.min(fromStep + stepsPerBucket, steps);
+            int from = openMinute + fromStep * STEP_MINUTES;
+            int to = Math.min(openMinute + toStep * STEP_MINUTES, closeMinute);
+            buckets[bucket] = (double) (prefix[toStep] - prefix[fromStep]) / (to - from);
+        }
+        return buckets;
+    }
+
+    public int getOpenMinute() {
+        return openMinute;
+    }
+
+    public int getCloseMinute() {
+        return closeMinute;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+}
@@ -0,0 +1,70 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.util.List;
+
+/**
+ * Parsed building opening hours used to clip the free ranges reported for each
+ * room and day
+ */
+public final class OpeningHours {
+
+    private final int openMinute;
+    private final int closeMinute;
+    private final DaySchedule freeAllDay;
+
+    private OpeningHours(int openMinute, int closeMinute) {
+        this.openMinute = openMinute;
+        this.closeMinute = closeMinute;
+        this.freeAllDay = DaySchedule.freeAllDay(this);
+    }
+
+    /**
+     * @param open  Opening time (HH:mm format)
+     * @param close Closing time (HH:mm format), after the opening time
+     * @return OpeningHours for the window
+     */
+    public static OpeningHours parse(String open, String close) {
+        int openMinute = DaySchedule.toMinuteOfDay(open);
+        int closeMinute = DaySchedule.toMinuteOfDay(close);
+        if (closeMinute <= openMinute) {
+            throw new IllegalArgumentException("Invalid building hours: " + open + "-" + close);
+        }
+        return new OpeningHours(openMinute, closeMinute);
+    }
+
+    public int getOpenMinute() {
+        return openMinute;
+    }
+
+    public int getCloseMinute() {
+        return closeMinute;
+    }
+
+    /**
+     * @return Schedule shared by every day without usage, free for the whole
+     *         window
+     */
+    DaySchedule getFreeAllDay() {
+        return freeAllDay;
+    }
+
+    /**
+     * Clip a free interval to the opening hours
+     *
+     * @param from   Start of the free interval
+     * @param to     End of the free interval, exclusive
+     * @param target List the clipped range is appended to when it is non-empty
+     */
+    void addClipped(int from, int to, List<RoomUsage.TimeRange> target) {
+        int start = Math.max(from, openMinute);
+        int end = Math.min(to, closeMinute);
+        if (start < end) {
+            RoomUsage.TimeRange range = new RoomUsage.TimeRange();
+            range.setStart(DaySchedule.formatMinuteOfDay(start));
+            range.setEnd(DaySchedule.formatMinuteOfDay(end));
+            target.add(range);
+        }
+    }
+}
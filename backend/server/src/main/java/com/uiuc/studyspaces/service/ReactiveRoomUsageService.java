@@ -0,0 +1,122 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.FreeRoomResponse;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.repository.RoomUsageRepositoryImpl;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.DayOfWeek;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming counterparts of the list queries of {@link RoomUsageService}. Each
+ * room is evaluated with the same logic as the blocking queries and emitted as
+ * soon as its schedule is available: straight from the in-memory index once it
+ * is loaded, and document by document from {@link ReactiveMongoTemplate}
+ * before that.
+ * <p>
+ * The term and index are resolved when a method is called, on the request
+ * thread, because the selected term does not follow the stream onto the Mongo
+ * driver's threads. Invalid arguments are rejected at the same point, before
+ * anything is streamed.
+ */
+@Service
+public class ReactiveRoomUsageService {
+
+    private final RoomUsageService service;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final RoomUsageMetrics metrics;
+    private final SemesterTerms terms;
+
+    public ReactiveRoomUsageService(RoomUsageService service, ReactiveMongoTemplate mongoTemplate,
+            RoomUsageMetrics metrics, SemesterTerms terms) {
+        this.service = service;
+        this.mongoTemplate = mongoTemplate;
+        this.metrics = metrics;
+        this.terms = terms;
+    }
+
+    /**
+     * @see RoomUsageService#getAvailableRooms(String, String, String)
+     */
+    public Flux<RoomUsage> getAvailableRooms(String building, String day, String timeStr) {
+        DayOfWeek dayOfWeek = service.parseDay(day);
+        int queryMinute = service.parseMinuteOfDay(timeStr);
+        Flux<RoomSchedule> rooms = getRoomSchedules(building,
+                Query.query(Criteria.where("building").is(building)));
+        return timed("available", building, rooms)
+                .filter(room -> !room.getDay(dayOfWeek).isOccupiedAt(queryMinute))
+                .map(RoomSchedule::getRoom);
+    }
+
+    /**
+     * @see RoomUsageService#getAllRoomsWithStatus(String, String, String)
+     */
+    public Flux<RoomStatusResponse> getAllRoomsWithStatus(String building, String day, String timeStr) {
+        DayOfWeek dayOfWeek = service.parseDay(day);
+        int queryMinute = service.parseMinuteOfDay(timeStr);
+        if (service.isAggregationMode()) {
+            return mongoTemplate.aggregate(
+                    RoomStatusAggregation.pipeline(building, dayOfWeek, DaySchedule.formatMinuteOfDay(queryMinute)),
+                    terms.getCollection(), RoomStatusResponse.class)
+                    .doOnNext(service::addFreeRanges);
+        }
+        Flux<RoomSchedule> rooms = getRoomSchedules(building,
+                RoomUsageRepositoryImpl.dayByBuildingQuery(building, dayOfWeek));
+        return timed("building", building, rooms)
+                .map(room -> service.createRoomStatusResponse(room, dayOfWeek, queryMinute));
+    }
+
+    /**
+     * @see RoomUsageService#getFreeRoomsOnCampus(String, String, Integer)
+     */
+    public Flux<FreeRoomResponse> getFreeRoomsOnCampus(String day, String timeStr, Integer minFreeMinutes) {
+        DayOfWeek dayOfWeek = service.parseDay(day);
+        int queryMinute = service.parseMinuteOfDay(timeStr);
+        int requiredMinutes = service.parseMinFreeMinutes(minFreeMinutes);
+        RoomScheduleIndex current = service.currentIndex();
+        metrics.recordIndexLookup(current != null);
+        Flux<RoomSchedule> rooms = current != null
+                ? Flux.fromIterable(current.getAllRooms())
+                // Sorted so rooms come grouped by building, as they do from the index
+                : find(new Query().with(Sort.by("building", "_id")));
+        return timed("campus", "campus", rooms)
+                .handle((room, sink) -> {
+                    FreeRoomResponse free = service.createFreeRoomResponse(room, dayOfWeek, queryMinute,
+                            requiredMinutes);
+                    if (free != null) {
+                        sink.next(free);
+                    }
+                });
+    }
+
+    private Flux<RoomSchedule> getRoomSchedules(String building, Query fallback) {
+        RoomScheduleIndex current = service.currentIndex();
+        metrics.recordIndexLookup(current != null);
+        return current != null ? Flux.fromIterable(current.getRooms(building)) : find(fallback);
+    }
+
+    private Flux<RoomSchedule> find(Query query) {
+        return mongoTemplate.find(query, RoomUsage.class, terms.getCollection()).map(service::toSchedule);
+    }
+
+    /**
+     * Record the query with the same metrics as the blocking queries once every
+     * room has been evaluated
+     */
+    private Flux<RoomSchedule> timed(String query, String target, Flux<RoomSchedule> rooms) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = metrics.startQuery();
+            AtomicInteger scanned = new AtomicInteger();
+            return rooms.doOnNext(room -> scanned.incrementAndGet())
+                    .doOnComplete(() -> metrics.recordQuery(query, sample, target, scanned.get(), scanned.get()));
+        });
+    }
+}
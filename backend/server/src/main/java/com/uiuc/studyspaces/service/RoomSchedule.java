@@ -0,0 +1,52 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.time.DayOfWeek;
+
+/**
+ * A room together with its pre-parsed weekday schedules
+ */
+public final class RoomSchedule {
+
+    private final RoomUsage room;
+    private final DaySchedule[] days; // indexed by DayOfWeek ordinal, Monday-Friday only
+
+    private RoomSchedule(RoomUsage room, DaySchedule[] days) {
+        this.room = room;
+        this.days = days;
+    }
+
+    /**
+     * Parse every weekday of a room's usage once
+     *
+     * @param room  The room usage document
+     * @param hours The building hours free ranges are clipped to
+     * @return RoomSchedule for the room
+     */
+    public static RoomSchedule of(RoomUsage room, OpeningHours hours) {
+        DaySchedule[] days = new DaySchedule[DayOfWeek.FRIDAY.ordinal() + 1];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = room.getUsage() == null
+                    ? hours.getFreeAllDay()
+                    : DaySchedule.of(room.getUsage().getTimeRangesForDay(DayOfWeek.of(i + 1).name()), hours);
+        }
+        return new RoomSchedule(room, days);
+    }
+
+    public RoomUsage getRoom() {
+        return room;
+    }
+
+    public String getRoomNumber() {
+        return room.getRoomNumber();
+    }
+
+    /**
+     * @param day A weekday between Monday and Friday
+     * @return The schedule for that day
+     */
+    public DaySchedule getDay(DayOfWeek day) {
+        return days[day.ordinal()];
+    }
+}
@@ -0,0 +1,394 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory index of the semester schedule (building -> room ->
+ * per-day minute bitmaps). The whole index is swapped in as a unit, so readers
+ * never see a partially loaded dataset. Everything derived from the rooms
+ * (status timelines, heatmaps, version hashes) is kept per building, so an
+ * update that touches a few rooms only rebuilds their buildings and shares the
+ * rest with the previous index.
+ */
+public final class RoomScheduleIndex {
+
+    private final Map<String, BuildingIndex> buildingsByName;
+    private final Map<String, RoomSchedule> roomsById;
+    private final List<String> buildings;
+    private final List<RoomSchedule> allRooms;
+    private final OpeningHours hours;
+    private final String version;
+    private final NameIndex names;
+    private final BuildingLocator locator;
+
+    private RoomScheduleIndex(Map<String, BuildingIndex> buildingsByName, OpeningHours hours) {
+        this.buildingsByName = buildingsByName;
+        this.hours = hours;
+        this.buildings = List.copyOf(buildingsByName.keySet());
+
+        // Flattened in building order so campus-wide queries are a single array walk
+        List<RoomSchedule> flattened = new ArrayList<>();
+        Map<String, RoomSchedule> byId = new HashMap<>();
+        MessageDigest digest = newDigest();
+        for (BuildingIndex building : buildingsByName.values()) {
+            flattened.addAll(building.rooms);
+            for (RoomSchedule room : building.rooms) {
+                if (room.getRoom().getId() != null) {
+                    byId.put(room.getRoom().getId(), room);
+                }
+            }
+            update(digest, building.version);
+        }
+        this.allRooms = Collections.unmodifiableList(flattened);
+        this.roomsById = byId;
+        this.version = HexFormat.of().formatHex(digest.digest(), 0, 12);
+
+        Map<String, List<String>> roomNames = new LinkedHashMap<>();
+        buildingsByName.forEach((name, building) -> roomNames.put(name, List.copyOf(building.roomsByName.keySet())));
+        this.names = new NameIndex(roomNames);
+
+        List<BuildingLocator.Location> locations = new ArrayList<>();
+        buildingsByName.forEach((name, building) -> {
+            if (building.location != null) {
+                locations.add(new BuildingLocator.Location(name,
+                        building.location.getLatitude(), building.location.getLongitude()));
+            }
+        });
+        this.locator = new BuildingLocator(locations);
+    }
+
+    /**
+     * Merge the minutes at which any of the rooms changes between free and
+     * occupied on a day into one sorted timeline
+     *
+     * @param rooms The rooms of a building
+     * @param day   A weekday between Monday and Friday
+     * @return Sorted distinct minutes of the day
+     */
+    static int[] statusBoundaries(List<RoomSchedule> rooms, DayOfWeek day) {
+        boolean[] marks = new boolean[DaySchedule.MINUTES_PER_DAY];
+        for (RoomSchedule room : rooms) {
+            room.getDay(day).markStatusBoundaries(marks);
+        }
+        int count = 0;
+        for (boolean mark : marks) {
+            count += mark ? 1 : 0;
+        }
+        int[] boundaries = new int[count];
+        for (int minute = 0, i = 0; minute < marks.length; minute++) {
+            if (marks[minute]) {
+                boundaries[i++] = minute;
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Build an index from every room document in the collection
+     *
+     * @param rooms All room usage documents
+     * @param hours The building hours free ranges are clipped to
+     * @return RoomScheduleIndex over the rooms
+     */
+    public static RoomScheduleIndex build(List<RoomUsage> rooms, OpeningHours hours) {
+        return build(rooms, hours, null);
+    }
+
+    /**
+     * Build an index from every room document in the collection, deriving each
+     * building's timelines, heatmap and hash as a separate task
+     *
+     * @param rooms    All room usage documents
+     * @param hours    The building hours free ranges are clipped to
+     * @param executor Pool the buildings are split across, null to build on the
+     *                 calling thread
+     * @return RoomScheduleIndex over the rooms
+     */
+    public static RoomScheduleIndex build(List<RoomUsage> rooms, OpeningHours hours, CampusExecutor executor) {
+        // TreeMap keeps buildings sorted the same way getAllBuildings sorts them
+        Map<String, List<RoomUsage>> byBuilding = new TreeMap<>();
+        for (RoomUsage room : rooms) {
+            byBuilding.computeIfAbsent(room.getBuilding(), b -> new ArrayList<>()).add(room);
+        }
+
+        List<String> names = new ArrayList<>(byBuilding.keySet());
+        Function<String, BuildingIndex> buildBuilding = building -> new BuildingIndex(
+                byBuilding.get(building).stream().map(room -> RoomSchedule.of(room, hours))
+                        .collect(Collectors.toList()),
+                hours);
+        List<BuildingIndex> built = executor == null
+                ? names.stream().map(buildBuilding).collect(Collectors.toList())
+                : executor.mapBuildings("index", names, building -> byBuilding.get(building).size(), buildBuilding);
+
+        Map<String, BuildingIndex> buildings = new TreeMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            buildings.put(names.get(i), built.get(i));
+        }
+        return new RoomScheduleIndex(Collections.unmodifiableMap(buildings), hours);
+    }
+
+    /**
+     * Derive a new index with some rooms replaced, added or removed. Only the
+     * buildings those rooms belong to, before or after the change, are rebuilt;
+     * within them rooms are kept in id order, the order a full reload reads them
+     * in.
+     *
+     * @param changes New state of each changed room document by id, null for a
+     *                removed document
+     * @return The updated index
+     */
+    public RoomScheduleIndex withChanges(Map<String, RoomUsage> changes) {
+        Set<String> affected = new HashSet<>();
+        changes.forEach((id, room) -> {
+            RoomSchedule existing = roomsById.get(id);
+            if (existing != null) {
+                affected.add(existing.getRoom().getBuilding());
+            }
+            if (room != null) {
+                affected.add(room.getBuilding());
+            }
+        });
+
+        Map<String, List<RoomSchedule>> rebuilt = new HashMap<>();
+        for (String building : affected) {
+            List<RoomSchedule> kept = new ArrayList<>();
+            for (RoomSchedule room : getRooms(building)) {
+                if (!changes.containsKey(room.getRoom().getId())) {
+                    kept.add(room);
+                }
+            }
+            rebuilt.put(building, kept);
+        }
+        changes.values().stream()
+                .filter(room -> room != null)
+                .forEach(room -> rebuilt.get(room.getBuilding()).add(RoomSchedule.of(room, hours)));
+
+        Map<String, BuildingIndex> buildings = new TreeMap<>(buildingsByName);
+        rebuilt.forEach((building, rooms) -> {
+            if (rooms.isEmpty()) {
+                buildings.remove(building);
+            } else {
+                rooms.sort(Comparator.comparing((RoomSchedule room) -> room.getRoom().getId(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+                buildings.put(building, new BuildingIndex(rooms, hours));
+            }
+        });
+        return new RoomScheduleIndex(Collections.unmodifiableMap(buildings), hours);
+    }
+
+    /**
+     * @return All building names, sorted
+     */
+    public List<String> getBuildings() {
+        return buildings;
+    }
+
+    /**
+     * @param building The building name
+     * @return All rooms in the building, or an empty list if the building is
+     *         unknown
+     */
+    public List<RoomSchedule> getRooms(String building) {
+        BuildingIndex index = buildingsByName.get(building);
+        return index == null ? List.of() : index.rooms;
+    }
+
+    /**
+     * @param building The building name
+     * @param room     The room number
+     * @return The room, or null if it is not in the index
+     */
+    public RoomSchedule getRoom(String building, String room) {
+        BuildingIndex index = buildingsByName.get(building);
+        return index == null ? null : index.roomsByName.get(room);
+    }
+
+    /**
+     * Look a room up by name the way a user may type it: the building by its
+     * canonical or closest name and the room by its canonical number
+     *
+     * @param building The building name, in any case and spacing
+     * @param room     The room number, in any case and spacing
+     * @return The room, or null if no building is close enough or it has no such
+     *         room
+     */
+    public RoomSchedule findRoom(String building, String room) {
+        RoomSchedule exact = getRoom(building, room);
+        if (exact != null) {
+            return exact;
+        }
+        String resolved = names.resolveBuilding(building);
+        if (resolved == null) {
+            return null;
+        }
+        BuildingIndex index = buildingsByName.get(resolved);
+        RoomSchedule byName = index.roomsByName.get(room);
+        return byName != null ? byName : index.roomsByKey.get(NameIndex.canonical(room));
+    }
+
+    /**
+     * @return Search index over the building and room names
+     */
+    NameIndex getNames() {
+        return names;
+    }
+
+    /**
+     * @return Spatial index over the buildings that have a location
+     */
+    BuildingLocator getLocator() {
+        return locator;
+    }
+
+    /**
+     * @return Every room on campus, grouped by building in sorted building order
+     */
+    public List<RoomSchedule> getAllRooms() {
+        return allRooms;
+    }
+
+    /**
+     * @param building The building name
+     * @param day      A weekday between Monday and Friday
+     * @return Sorted minutes at which any room in the building changes status, or
+     *         an empty array if the building is unknown
+     */
+    public int[] getStatusBoundaries(String building, DayOfWeek day) {
+        BuildingIndex index = buildingsByName.get(building);
+        return index == null ? new int[0] : index.boundaries[day.ordinal()];
+    }
+
+    /**
+     * @param building The building name
+     * @return Free-room heatmap of the building, or null if the building is
+     *         unknown
+     */
+    public OccupancyHeatmap getHeatmap(String building) {
+        BuildingIndex index = buildingsByName.get(building);
+        return index == null ? null : index.heatmap;
+    }
+
+    /**
+     * @return Content hash of the dataset the index was built from
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @param building The building name
+     * @return Content hash of the building's rooms and the building hours, or
+     *         null if the building is unknown
+     */
+    public String getBuildingVersion(String building) {
+        BuildingIndex index = buildingsByName.get(building);
+        return index == null ? null : index.version;
+    }
+
+    public int getRoomCount() {
+        return allRooms.size();
+    }
+
+    /**
+     * The rooms of one building and everything derived from them
+     */
+    private static final class BuildingIndex {
+
+        private final List<RoomSchedule> rooms;
+        private final Map<String, RoomSchedule> roomsByName;
+        private final Map<String, RoomSchedule> roomsByKey; // by canonical room number
+        private final int[][] boundaries; // per weekday, sorted status-change minutes
+        private final OccupancyHeatmap heatmap;
+        private final RoomUsage.Location location; // of the first room that has one
+        private final String version;
+
+        private BuildingIndex(List<RoomSchedule> rooms, OpeningHours hours) {
+            this.rooms = Collections.unmodifiableList(rooms);
+            Map<String, RoomSchedule> byName = new LinkedHashMap<>();
+            rooms.forEach(room -> byName.putIfAbsent(room.getRoomNumber(), room));
+            this.roomsByName = Collections.unmodifiableMap(byName);
+            Map<String, RoomSchedule> byKey = new HashMap<>();
+            rooms.forEach(room -> byKey.putIfAbsent(NameIndex.canonical(room.getRoomNumber()), room));
+            this.roomsByKey = byKey;
+
+            this.boundaries = new int[DayOfWeek.FRIDAY.getValue()][];
+            for (int day = 1; day <= boundaries.length; day++) {
+                boundaries[day - 1] = statusBoundaries(rooms, DayOfWeek.of(day));
+            }
+            this.heatmap = OccupancyHeatmap.of(rooms, hours);
+            this.location = rooms.stream()
+                    .map(room -> room.getRoom().getLocation())
+                    .filter(location -> location != null)
+                    .findFirst()
+                    .orElse(null);
+            this.version = computeVersion(rooms, hours);
+        }
+    }
+
+    /**
+     * Hash everything a response can be derived from (every room field and the
+     * building hours) so two buildings share a version only if they answer every
+     * query identically. Ranges are hashed as minutes of the day, so a building
+     * loaded from a snapshot has the same version as one read from Mongo.
+     */
+    private static String computeVersion(List<RoomSchedule> rooms, OpeningHours hours) {
+        MessageDigest digest = newDigest();
+        update(digest, hours.getOpenMinute() + "-" + hours.getCloseMinute());
+        for (RoomSchedule schedule : rooms) {
+            RoomUsage room = schedule.getRoom();
+            update(digest, room.getBuilding());
+            update(digest, room.getRoomNumber());
+            update(digest, room.getRoom_id());
+            update(digest, room.getSemester());
+            update(digest, room.getCourses() == null ? null : String.join("\n", room.getCourses()));
+            for (int day = 1; day <= DayOfWeek.FRIDAY.getValue(); day++) {
+                List<RoomUsage.TimeRange> ranges = room.getUsage() == null
+                        ? null
+                        : room.getUsage().getTimeRangesForDay(DayOfWeek.of(day).name());
+                if (ranges != null) {
+                    for (RoomUsage.TimeRange range : ranges) {
+                        update(digest, DaySchedule.toMinuteOfDay(range.getStart()) + "-"
+                                + DaySchedule.toMinuteOfDay(range.getEnd()));
+                    }
+                }
+                digest.update((byte) 0x1E);
+            }
+            RoomUsage.Location location = room.getLocation();
+            update(digest, location == null ? null : location.getLatitude() + "," + location.getLongitude());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 12);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
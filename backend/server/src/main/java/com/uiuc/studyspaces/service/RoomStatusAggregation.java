@@ -0,0 +1,93 @@
+package com.uiuc.studyspaces.service;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregation pipeline that works out the status of every room in a building
+ * inside MongoDB, for deployments that do not hold the schedule in memory. It
+ * produces the same roomNumber, status, availableUntil, availableFrom and
+ * occupiedRanges as {@link DaySchedule} does for a single day; times are
+ * compared as zero-padded "HH:mm" strings, which order the same way as minutes.
+ * Only uses stages and operators available since MongoDB 3.4.
+ */
+final class RoomStatusAggregation {
+
+    private RoomStatusAggregation() {
+    }
+
+    /**
+     * @param building The building name
+     * @param day      A weekday between Monday and Friday
+     * @param time     The query time in zero-padded HH:mm format
+     * @return Pipeline whose output documents map onto RoomStatusResponse
+     */
+    static Aggregation pipeline(String building, DayOfWeek day, String time) {
+        String name = day.name();
+        String ranges = "$usage." + name.charAt(0) + name.substring(1).toLowerCase();
+
+        // Ranges with start >= end occupy no minute, as in DaySchedule
+        Document nonEmpty = new Document("$lt", List.of("$$r.start", "$$r.end"));
+        Document covering = filter(new Document("$and", List.of(
+                new Document("$lte", List.of("$$r.start", time)),
+                new Document("$gt", List.of("$$r.end", time)))));
+        Document later = filter(new Document("$and", List.of(
+                nonEmpty,
+                new Document("$gt", List.of("$$r.start", time)))));
+
+        // Ranges are stored in no particular order, so they are repeated once per
+        // range; each repetition extends the block by at least the next range in
+        // start order
+        Document passes = new Document("$reduce", new Document()
+                .append("input", new Document("$range", List.of(0, new Document("$size", "$ranges"))))
+                .append("initialValue", List.of())
+                .append("in", new Document("$concatArrays", List.of("$$value", "$ranges"))));
+
+        // Extend the end of the covering ranges through every range that overlaps or
+        // touches it, to reach the end of the occupied block
+        Document freeFrom = new Document("$reduce", new Document()
+                .append("input", "$passes")
+                .append("initialValue", new Document("$max", "$covering.end"))
+                .append("in", new Document("$cond", Arrays.asList(
+                        new Document("$and", List.of(
+                                new Document("$ne", Arrays.asList("$$value", null)),
+                                new Document("$lte", List.of("$$this.start", "$$value")),
+                                new Document("$gt", List.of("$$this.end", "$$value")))),
+                        "$$this.end",
+                        "$$value"))));
+
+        Document occupied = new Document("$gt", List.of(new Document("$size", "$covering"), 0));
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("building").is(building)),
+                Aggregation.sort(Sort.by("_id")),
+                Aggregation.stage(new Document("$project", new Document("_id", 0)
+                        .append("room", 1)
+                        .append("ranges", new Document("$ifNull", List.of(ranges, List.of()))))),
+                Aggregation.stage(new Document("$addFields", new Document("covering", covering)
+                        .append("passes", passes)
+                        .append("nextStart", new Document("$min", new Document("$map", new Document("input", later)
+                                .append("as", "r")
+                                .append("in", "$$r.start")))))),
+                Aggregation.stage(new Document("$project", new Document()
+                        .append("roomNumber", "$room")
+                        .append("status", new Document("$cond", Arrays.asList(occupied, "OCCUPIED", "OPEN")))
+                        .append("availableUntil", new Document("$cond", Arrays.asList(occupied, null, "$nextStart")))
+                        .append("availableFrom", new Document("$cond", Arrays.asList(occupied, freeFrom, null)))
+                        .append("occupiedRanges", new Document("$cond", Arrays.asList(
+                                new Document("$gt", List.of(new Document("$size", "$ranges"), 0)),
+                                "$ranges",
+                                null))))));
+    }
+
+    private static Document filter(Document condition) {
+        return new Document("$filter", new Document("input", "$ranges")
+                .append("as", "r")
+                .append("cond", condition));
+    }
+}
@@ -0,0 +1,231 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes room status changes to Server-Sent Events subscribers. Statuses only
+ * change at slot boundaries, so instead of polling, a single scheduler thread
+ * sleeps until the next boundary of any subscribed building and then sends each
+ * subscriber the rooms in its building that changed since the previous tick.
+ * Each subscription stays on the term its request selected.
+ */
+@Component
+public class RoomStatusBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomStatusBroadcaster.class);
+
+    private final RoomUsageService service;
+    private final SemesterTerms terms;
+    private final Clock clock;
+    private final long timeoutMillis;
+    private final Map<Topic, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> nextTick; // guarded by this
+    private LocalDateTime lastBroadcast; // minute statuses were last sent at, guarded by this
+
+    @Autowired
+    public RoomStatusBroadcaster(RoomUsageService service, SemesterTerms terms, StudySpacesProperties properties) {
+        this(service, terms, properties, Clock.system(ZoneId.of(properties.getStream().getTimeZone())));
+    }
+
+    RoomStatusBroadcaster(RoomUsageService service, SemesterTerms terms, StudySpacesProperties properties,
+            Clock clock) {
+        this.service = service;
+        this.terms = terms;
+        this.clock = clock;
+        this.timeoutMillis = properties.getStream().getTimeout().toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-status-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribe to status changes of a building in the term selected on the
+     * current thread. The first event ("snapshot") carries the current status of
+     * every room on a weekday; each later event ("status") carries only the rooms
+     * that changed.
+     *
+     * @param building The building name
+     * @return The emitter to return from the controller
+     */
+    public SseEmitter subscribe(String building) {
+        Topic topic = new Topic(terms.getCurrentTerm(), building);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> unsubscribe(topic, emitter));
+        emitter.onTimeout(() -> unsubscribe(topic, emitter));
+        emitter.onError(e -> unsubscribe(topic, emitter));
+
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        synchronized (this) {
+            if (lastBroadcast == null) {
+                lastBroadcast = now;
+            }
+        }
+        if (isWeekday(now.getDayOfWeek())) {
+            send(topic, emitter, "snapshot", snapshot(topic, now));
+        }
+        reschedule();
+        return emitter;
+    }
+
+    /**
+     * Send every subscriber the rooms that changed status since the previous
+     * tick, however late this one runs, then sleep until the next boundary. On
+     * the first tick of a day subscribers get a new snapshot instead.
+     */
+    void tick() {
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime since;
+        synchronized (this) {
+            nextTick = null; // this tick, which reschedule must not keep
+            since = lastBroadcast;
+            lastBroadcast = now;
+        }
+        try {
+            if (isWeekday(now.getDayOfWeek()) && since != null && since.isBefore(now)) {
+                boolean sameDay = since.toLocalDate().equals(now.toLocalDate());
+                subscribers.forEach((topic, emitters) -> {
+                    List<RoomStatusResponse> rooms = sameDay
+                            ? terms.callInTerm(topic.term(), () -> service.getStatusChanges(topic.building(),
+                                    now.getDayOfWeek(), minuteOfDay(since), minuteOfDay(now)))
+                            : snapshot(topic, now);
+                    if (!rooms.isEmpty()) {
+                        emitters.forEach(emitter -> send(topic, emitter, sameDay ? "status" : "snapshot", rooms));
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast room status changes", e);
+        }
+        reschedule();
+    }
+
+    private List<RoomStatusResponse> snapshot(Topic topic, LocalDateTime now) {
+        String time = DaySchedule.formatMinuteOfDay(minuteOfDay(now));
+        return terms.callInTerm(topic.term(),
+                () -> service.getAllRoomsWithStatus(topic.building(), now.getDayOfWeek().name(), time));
+    }
+
+    /**
+     * Schedule the next tick at the earliest upcoming boundary of any subscribed
+     * building, or at midnight when none of them changes again today
+     */
+    void reschedule() {
+        // Boundaries may be read from Mongo, so they are looked up outside the
+        // monitor: a virtual thread blocked on I/O while holding it would pin its
+        // carrier thread
+        LocalDateTime now = LocalDateTime.now(clock);
+        int minute = minuteOfDay(now);
+        int next = -1;
+        if (isWeekday(now.getDayOfWeek())) {
+            for (Topic topic : subscribers.keySet()) {
+                int boundary = terms.callInTerm(topic.term(),
+                        () -> service.getNextStatusChange(topic.building(), now.getDayOfWeek(), minute));
+                if (boundary >= 0 && (next < 0 || boundary < next)) {
+                    next = boundary;
+                }
+            }
+        }
+
+        LocalDateTime wakeUp = next < 0
+                ? now.toLocalDate().plusDays(1).atStartOfDay()
+                : now.toLocalDate().atStartOfDay().plusMinutes(next);
+        long delayMillis = Math.max(0, Duration.between(now, wakeUp).toMillis());
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                if (nextTick != null) {
+                    nextTick.cancel(false);
+                    nextTick = null;
+                }
+                lastBroadcast = null; // the next subscriber starts from its own snapshot
+                return;
+            }
+            // A concurrent call may have seen a subscriber this one missed, so an
+            // earlier pending tick is kept; ticking early only sends no changes
+            if (nextTick == null || nextTick.isDone()
+                    || nextTick.getDelay(TimeUnit.MILLISECONDS) > delayMillis) {
+                if (nextTick != null) {
+                    nextTick.cancel(false);
+                }
+                nextTick = scheduler.schedule(this::tick, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void send(Topic topic, SseEmitter emitter, String event, List<RoomStatusResponse> rooms) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(rooms));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the completion callback may not fire for a broken pipe
+            unsubscribe(topic, emitter);
+        }
+    }
+
+    private void unsubscribe(Topic topic, SseEmitter emitter) {
+        subscribers.computeIfPresent(topic, (t, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * @return Milliseconds until the next tick, or -1 if none is scheduled
+     */
+    synchronized long getNextTickDelayMillis() {
+        return nextTick == null || nextTick.isDone() ? -1 : nextTick.getDelay(TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    private static boolean isWeekday(DayOfWeek day) {
+        return day.getValue() <= DayOfWeek.FRIDAY.getValue();
+    }
+
+    private static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * The subscribers of one building in one term
+     */
+    private record Topic(String term, String building) {
+    }
+}
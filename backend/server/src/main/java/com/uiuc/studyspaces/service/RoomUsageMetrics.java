@@ -0,0 +1,119 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation for the availability queries in
+ * {@link RoomUsageService}, exposed through the actuator metrics endpoint.
+ * Per-query debug tracing is sampled so that turning on debug logging does not
+ * put a log write on every request.
+ */
+@Component
+public class RoomUsageMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomUsageMetrics.class);
+
+    private final MeterRegistry registry;
+    private final double traceSampleRate;
+    private final Counter indexHits;
+    private final Counter indexMisses;
+    private final Map<String, QueryMeters> queryMeters = new ConcurrentHashMap<>();
+
+    public RoomUsageMetrics(MeterRegistry registry, StudySpacesProperties properties) {
+        this.registry = registry;
+        this.traceSampleRate = properties.getMetrics().getTraceSampleRate();
+        this.indexHits = Counter.builder("studyspaces.index.lookups")
+                .description("Lookups answered from the in-memory schedule index or from Mongo")
+                .tag("result", "hit")
+                .register(registry);
+        this.indexMisses = Counter.builder("studyspaces.index.lookups")
+                .description("Lookups answered from the in-memory schedule index or from Mongo")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    public Timer.Sample startQuery() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Record a finished availability query
+     *
+     * @param query          The query type, used as the meter tag
+     * @param sample         The sample started by {@link #startQuery()}
+     * @param target         What was queried (building name or "campus"), only
+     *                       used for tracing
+     * @param roomsScanned   Number of rooms looked at
+     * @param slotsEvaluated Number of room/day/time availability checks made
+     */
+    public void recordQuery(String query, Timer.Sample sample, String target, int roomsScanned,
+            int slotsEvaluated) {
+        QueryMeters meters = queryMeters.computeIfAbsent(query, this::createQueryMeters);
+        long nanos = sample.stop(meters.timer);
+        meters.roomsScanned.increment(roomsScanned);
+        meters.slotsEvaluated.increment(slotsEvaluated);
+
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < traceSampleRate) {
+            log.debug("{} query for '{}' scanned {} rooms ({} slots) in {} us", query, target, roomsScanned,
+                    slotsEvaluated, TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /**
+     * @param hit true if the in-memory index answered the lookup, false if it
+     *            fell back to Mongo
+     */
+    public void recordIndexLookup(boolean hit) {
+        (hit ? indexHits : indexMisses).increment();
+    }
+
+    /**
+     * Publish size, hit, miss and eviction meters of a cache that records stats
+     *
+     * @param cache The cache
+     * @param name  The cache name, used as the meter tag
+     */
+    public void monitorCache(Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    private QueryMeters createQueryMeters(String query) {
+        return new QueryMeters(
+                Timer.builder("studyspaces.query")
+                        .description("Time spent answering availability queries")
+                        .tag("query", query)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Counter.builder("studyspaces.rooms.scanned")
+                        .tag("query", query)
+                        .register(registry),
+                Counter.builder("studyspaces.slots.evaluated")
+                        .tag("query", query)
+                        .register(registry));
+    }
+
+    private static final class QueryMeters {
+        private final Timer timer;
+        private final Counter roomsScanned;
+        private final Counter slotsEvaluated;
+
+        private QueryMeters(Timer timer, Counter roomsScanned, Counter slotsEvaluated) {
+            this.timer = timer;
+            this.roomsScanned = roomsScanned;
+            this.slotsEvaluated = slotsEvaluated;
+        }
+    }
+}
@@ -1,220 +1,750 @@
 package com.uiuc.studyspaces.service;
 
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.BatchStatusRequest;
+import com.uiuc.studyspaces.model.BatchStatusResponse;
+import com.uiuc.studyspaces.model.CompactRoomStatusResponse;
+import com.uiuc.studyspaces.model.FreeRoomResponse;
+import com.uiuc.studyspaces.model.HeatmapResponse;
+import com.uiuc.studyspaces.model.NearbyBuildingResponse;
 import com.uiuc.studyspaces.model.RoomUsage;
 import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.SearchResult;
 import com.uiuc.studyspaces.repository.RoomUsageRepository;
 
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Timer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class RoomUsageService {
 
+    private static final Logger log = LoggerFactory.getLogger(RoomUsageService.class);
+
+    // Upper bound on probes per batch request; a full weekday grid at 10-minute
+    // steps is 5 * 144 = 720
+    static final int MAX_BATCH_PROBES = 1000;
+    static final int MAX_SEARCH_RESULTS = 50;
+    static final int MAX_NEAREST_BUILDINGS = 20;
+
     private final RoomUsageRepository repository;
     private final MongoTemplate mongoTemplate;
+    private final OpeningHours buildingHours;
+    private final RoomUsageMetrics metrics;
+    private final CampusExecutor campusExecutor;
+    private final BuildingStatusCache statusCache; // null when disabled
+    private final int pageSize;
+    private final boolean aggregationMode;
+
+    private final SemesterTerms terms;
+
+    // Index per term; copied and replaced wholesale when a term is (re)loaded, so
+    // readers never block and never see a partially loaded term. A term has no
+    // entry until its first load completes.
+    private volatile Map<String, RoomScheduleIndex> indexes = Map.of();
 
     @Autowired
-    public RoomUsageService(RoomUsageRepository repository, MongoTemplate mongoTemplate) {
+    public RoomUsageService(RoomUsageRepository repository, MongoTemplate mongoTemplate,
+            StudySpacesProperties properties, RoomUsageMetrics metrics, SemesterTerms terms,
+            CampusExecutor campusExecutor) {
         this.repository = repository;
         this.mongoTemplate = mongoTemplate;
+        this.metrics = metrics;
+        this.campusExecutor = campusExecutor;
+        this.terms = terms;
+        this.pageSize = properties.getIndex().getPageSize();
+        this.aggregationMode = properties.getIndex().getMode() == StudySpacesProperties.Index.Mode.AGGREGATION;
+        this.buildingHours = OpeningHours.parse(properties.getBuildingHours().getOpen(),
+                properties.getBuildingHours().getClose());
+        long cacheRooms = properties.getStatusCache().getMaxRooms();
+        this.statusCache = cacheRooms > 0 ? new BuildingStatusCache(cacheRooms) : null;
+        if (statusCache != null) {
+            metrics.monitorCache(statusCache.getCache(), "buildingStatus");
+        }
     }
 
     public List<RoomUsage> getAvailableRooms(String building, String day, String timeStr) {
-        String normalizedDay = day.trim().toLowerCase();
-        if (!Set.of("monday", "tuesday", "wednesday", "thursday", "friday").contains(normalizedDay)) {
-            throw new IllegalArgumentException("Invalid day: " + day);
+        DayOfWeek dayOfWeek = parseDay(day);
+        int queryMinute = parseMinuteOfDay(timeStr);
+        Timer.Sample sample = metrics.startQuery();
+        List<RoomSchedule> rooms = getRoomSchedules(building);
+
+        List<RoomUsage> available = rooms.stream()
+                .filter(room -> !room.getDay(dayOfWeek).isOccupiedAt(queryMinute))
+                .map(RoomSchedule::getRoom)
+                .collect(Collectors.toList());
+        metrics.recordQuery("available", sample, building, rooms.size(), rooms.size());
+        return available;
+    }
+
+    /**
+     * Get all rooms in a building with their availability status for a specific day
+     * and time. Once the index is loaded, the result is cached for the whole
+     * stretch of the day in which no room of the building changes status.
+     * 
+     * @param building The building name
+     * @param day      The day of the week (Monday, Tuesday, etc.)
+     * @param timeStr  The time to check availability (HH:mm format)
+     * @return List of RoomStatusResponse objects containing room status
+     *         information; may be shared with other callers and must not be
+     *         modified
+     */
+    public List<RoomStatusResponse> getAllRoomsWithStatus(String building, String day, String timeStr) {
+        DayOfWeek dayOfWeek = parseDay(day);
+        int queryMinute = parseMinuteOfDay(timeStr);
+        if (aggregationMode) {
+            return getAllRoomsWithStatusFromAggregation(building, dayOfWeek, queryMinute);
+        }
+        Timer.Sample sample = metrics.startQuery();
+        RoomScheduleIndex current = currentIndex();
+        String version = current == null || statusCache == null ? null : current.getBuildingVersion(building);
+        if (version == null) {
+            List<RoomSchedule> rooms = getRoomSchedules(building, dayOfWeek);
+            List<RoomStatusResponse> statuses = rooms.stream()
+                    .map(room -> createRoomStatusResponse(room, dayOfWeek, queryMinute))
+                    .collect(Collectors.toList());
+            metrics.recordQuery("building", sample, building, rooms.size(), rooms.size());
+            return statuses;
         }
 
-        LocalTime queryTime = LocalTime.parse(timeStr);
-        List<RoomUsage> rooms = repository.findByBuilding(building);
+        metrics.recordIndexLookup(true);
+        int segment = BuildingStatusCache.segment(current.getStatusBoundaries(building, dayOfWeek), queryMinute);
+        List<RoomStatusResponse> statuses = statusCache.get(version, dayOfWeek, segment);
+        if (statuses != null) {
+            metrics.recordQuery("building", sample, building, 0, 0);
+            return statuses;
+        }
+        List<RoomSchedule> rooms = current.getRooms(building);
+        statuses = rooms.stream()
+                .map(room -> createRoomStatusResponse(room, dayOfWeek, queryMinute))
+                .collect(Collectors.toUnmodifiableList());
+        statusCache.put(version, dayOfWeek, segment, statuses);
+        metrics.recordQuery("building", sample, building, rooms.size(), rooms.size());
+        return statuses;
+    }
 
-        System.out.println("Looking for rooms in building: " + building + ", day: " + day + ", time: " + timeStr);
-        System.out.println("Total rooms found: " + rooms.size());
+    /**
+     * Get all rooms in a building with their status, evaluated by a Mongo
+     * aggregation so only one status row per room is transferred. Free ranges are
+     * derived from the returned occupied ranges the same way the index does.
+     * 
+     * @param building    The building name
+     * @param day         The day of the week
+     * @param queryMinute The minute of the day to check availability
+     * @return List of RoomStatusResponse objects in the same order as the index
+     */
+    private List<RoomStatusResponse> getAllRoomsWithStatusFromAggregation(String building, DayOfWeek day,
+            int queryMinute) {
+        Timer.Sample sample = metrics.startQuery();
+        List<RoomStatusResponse> statuses = mongoTemplate.aggregate(
+                RoomStatusAggregation.pipeline(building, day, DaySchedule.formatMinuteOfDay(queryMinute)),
+                mongoTemplate.getCollectionName(RoomUsage.class), RoomStatusResponse.class)
+                .getMappedResults();
+        statuses.forEach(this::addFreeRanges);
+        metrics.recordQuery("building", sample, building, statuses.size(), 0);
+        return statuses;
+    }
 
-        return rooms.stream()
-                .filter(room -> {
-                    System.out.println("Checking room: " + room.getRoomNumber());
+    /**
+     * Derive the free ranges of an aggregation status row from its occupied
+     * ranges, clipped to the building hours
+     * 
+     * @param status A status row returned by {@link RoomStatusAggregation}
+     */
+    void addFreeRanges(RoomStatusResponse status) {
+        status.setFreeRanges(DaySchedule.of(status.getOccupiedRanges(), buildingHours).getFreeRanges());
+    }
 
-                    if (room.getUsage() == null) {
-                        System.out.println("No usage data found for room " + room.getRoomNumber() + " — assuming free");
-                        return true;
+    /**
+     * Get every free room on campus for a specific day and time, with the
+     * buildings split across the campus thread pool
+     * 
+     * @param day            The day of the week (Monday, Tuesday, etc.)
+     * @param timeStr        The time to check availability (HH:mm format)
+     * @param minFreeMinutes Optional minimum number of minutes the room must stay
+     *                       free from the query time, null for no minimum
+     * @return List of FreeRoomResponse objects ordered by building
+     */
+    public List<FreeRoomResponse> getFreeRoomsOnCampus(String day, String timeStr, Integer minFreeMinutes) {
+        DayOfWeek dayOfWeek = parseDay(day);
+        int queryMinute = parseMinuteOfDay(timeStr);
+        int requiredMinutes = parseMinFreeMinutes(minFreeMinutes);
+        Timer.Sample sample = metrics.startQuery();
+        RoomScheduleIndex current = getCampusIndex();
+
+        List<List<FreeRoomResponse>> byBuilding = campusExecutor.mapBuildings("campus", current.getBuildings(),
+                building -> current.getRooms(building).size(), building -> {
+                    List<FreeRoomResponse> free = new ArrayList<>();
+                    for (RoomSchedule room : current.getRooms(building)) {
+                        FreeRoomResponse response = createFreeRoomResponse(room, dayOfWeek, queryMinute,
+                                requiredMinutes);
+                        if (response != null) {
+                            free.add(response);
+                        }
                     }
+                    return free;
+                });
+        List<FreeRoomResponse> freeRooms = new ArrayList<>();
+        byBuilding.forEach(freeRooms::addAll);
+        metrics.recordQuery("campus", sample, "campus", current.getRoomCount(), current.getRoomCount());
+        return freeRooms;
+    }
 
-                    List<RoomUsage.TimeRange> slotsOnDay = null;
-                    switch (day.toLowerCase()) {
-                        case "monday":
-                            slotsOnDay = room.getUsage().getMonday();
-                            break;
-                        case "tuesday":
-                            slotsOnDay = room.getUsage().getTuesday();
-                            break;
-                        case "wednesday":
-                            slotsOnDay = room.getUsage().getWednesday();
-                            break;
-                        case "thursday":
-                            slotsOnDay = room.getUsage().getThursday();
-                            break;
-                        case "friday":
-                            slotsOnDay = room.getUsage().getFriday();
-                            break;
-                        default:
-                            slotsOnDay = List.of();
-                            break;
-                    }
-                    if (slotsOnDay == null)
-                        slotsOnDay = List.of();
+    /**
+     * Get the buildings closest to a point that have a room free at a specific
+     * day and time. Buildings are visited nearest first and the search stops as
+     * soon as enough of them have a free room; buildings without a known
+     * location are never returned.
+     * 
+     * @param latitude       Latitude of the point in degrees
+     * @param longitude      Longitude of the point in degrees
+     * @param day            The day of the week (Monday, Tuesday, etc.)
+     * @param timeStr        The time to check availability (HH:mm format)
+     * @param count          Number of buildings to return, at most
+     *                       {@value #MAX_NEAREST_BUILDINGS}
+     * @param minFreeMinutes Optional minimum number of minutes the room must stay
+     *                       free from the query time, null for no minimum
+     * @return List of NearbyBuildingResponse objects, nearest first
+     */
+    public List<NearbyBuildingResponse> getNearestFreeRooms(double latitude, double longitude, String day,
+            String timeStr, int count, Integer minFreeMinutes) {
+        validateNearestQuery(latitude, longitude, day, timeStr, count, minFreeMinutes);
+        DayOfWeek dayOfWeek = parseDay(day);
+        int queryMinute = parseMinuteOfDay(timeStr);
+        int requiredMinutes = parseMinFreeMinutes(minFreeMinutes);
+        Timer.Sample sample = metrics.startQuery();
+        RoomScheduleIndex current = getCampusIndex();
+
+        List<NearbyBuildingResponse> nearby = new ArrayList<>();
+        int scanned = 0;
+        Iterator<BuildingLocator.Neighbor> neighbors = current.getLocator().nearest(latitude, longitude);
+        while (nearby.size() < count && neighbors.hasNext()) {
+            BuildingLocator.Neighbor neighbor = neighbors.next();
+            List<FreeRoomResponse> freeRooms = new ArrayList<>();
+            for (RoomSchedule room : current.getRooms(neighbor.building())) {
+                FreeRoomResponse free = createFreeRoomResponse(room, dayOfWeek, queryMinute, requiredMinutes);
+                if (free != null) {
+                    freeRooms.add(free);
+                }
+                scanned++;
+            }
+            if (!freeRooms.isEmpty()) {
+                nearby.add(new NearbyBuildingResponse(neighbor.building(), neighbor.latitude(),
+                        neighbor.longitude(), Math.round(neighbor.distanceMeters()), freeRooms));
+            }
+        }
+        metrics.recordQuery("nearest", sample, "campus", scanned, scanned);
+        return nearby;
+    }
+
+    /**
+     * Check the arguments of a day/time query without running it, so a request
+     * that could be answered from a client's cached copy is still rejected when
+     * its arguments are invalid
+     * 
+     * @param day            The day of the week (Monday, Tuesday, etc.)
+     * @param timeStr        The time (HH:mm format)
+     * @param minFreeMinutes Optional minimum number of free minutes, may be null
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public void validateQuery(String day, String timeStr, Integer minFreeMinutes) {
+        parseDay(day);
+        parseMinuteOfDay(timeStr);
+        parseMinFreeMinutes(minFreeMinutes);
+    }
 
-                    System.out.println(
-                            "Slots on " + day + " for room " + room.getRoomNumber() + ": " + slotsOnDay.size());
+    /**
+     * Check the arguments of {@link #getNearestFreeRooms} without running it
+     * 
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public void validateNearestQuery(double latitude, double longitude, String day, String timeStr, int count,
+            Integer minFreeMinutes) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid location: " + latitude + "," + longitude);
+        }
+        if (count < 1 || count > MAX_NEAREST_BUILDINGS) {
+            throw new IllegalArgumentException("Invalid count: " + count);
+        }
+        validateQuery(day, timeStr, minFreeMinutes);
+    }
 
-                    for (RoomUsage.TimeRange slot : slotsOnDay) {
-                        LocalTime start = LocalTime.parse(slot.getStart());
-                        LocalTime end = LocalTime.parse(slot.getEnd());
-                        System.out.println("Checking slot time: " + start + " - " + end);
+    /**
+     * Check the arguments of a time window query without running it
+     * 
+     * @param day      The day of the week (Monday, Tuesday, etc.)
+     * @param startStr The start of the window (HH:mm format)
+     * @param endStr   The end of the window (HH:mm format), null if minutes is
+     *                 given
+     * @param minutes  The length of the window, null if endStr is given
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public void validateWindow(String day, String startStr, String endStr, Integer minutes) {
+        parseDay(day);
+        int from = parseMinuteOfDay(startStr);
+        validateWindow(from, endStr != null ? parseMinuteOfDay(endStr) : from + minutes);
+    }
 
-                        if (!queryTime.isBefore(start) && queryTime.isBefore(end)) {
-                            System.out.println("Room " + room.getRoomNumber() + " is occupied at " + timeStr);
-                            return false;
-                        }
-                    }
+    private static void validateWindow(int from, int to) {
+        if (to <= from || to > DaySchedule.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Invalid time window: " + DaySchedule.formatMinuteOfDay(from)
+                    + " for " + (to - from) + " minutes");
+        }
+    }
 
-                    System.out.println("Room " + room.getRoomNumber() + " is free at " + timeStr);
-                    return true;
-                })
-                .collect(Collectors.toList());
+    int parseMinFreeMinutes(Integer minFreeMinutes) {
+        if (minFreeMinutes != null && minFreeMinutes < 0) {
+            throw new IllegalArgumentException("Invalid minimum free minutes: " + minFreeMinutes);
+        }
+        return minFreeMinutes == null ? 0 : minFreeMinutes;
     }
 
     /**
-     * Get all rooms in a building with their availability status for a specific day
-     * and time
+     * Create a FreeRoomResponse for a room that is free at a specific time
+     * 
+     * @param room            The pre-parsed room schedule
+     * @param day             The day of the week
+     * @param queryMinute     The minute of the day to check availability
+     * @param requiredMinutes The number of minutes the room must stay free
+     * @return FreeRoomResponse object, or null if the room is occupied or not free
+     *         for long enough
+     */
+    FreeRoomResponse createFreeRoomResponse(RoomSchedule room, DayOfWeek day, int queryMinute, int requiredMinutes) {
+        int freeUntil = room.getDay(day).freeUntil(queryMinute);
+        if (freeUntil < 0 || freeUntil - queryMinute < requiredMinutes) {
+            return null;
+        }
+        return new FreeRoomResponse(room.getRoom().getBuilding(), room.getRoomNumber(),
+                formatAvailableUntil(freeUntil));
+    }
+
+    /**
+     * Get all rooms in a building that are free for the whole window [start, end)
      * 
      * @param building The building name
      * @param day      The day of the week (Monday, Tuesday, etc.)
-     * @param timeStr  The time to check availability (HH:mm format)
-     * @return List of RoomStatusResponse objects containing room status information
+     * @param startStr The start of the window (HH:mm format)
+     * @param endStr   The end of the window, exclusive (HH:mm format)
+     * @return List of RoomStatusResponse objects for the rooms free for the window
      */
-    public List<RoomStatusResponse> getAllRoomsWithStatus(String building, String day, String timeStr) {
-        String normalizedDay = day.trim().toLowerCase();
-        if (!Set.of("monday", "tuesday", "wednesday", "thursday", "friday").contains(normalizedDay)) {
-            throw new IllegalArgumentException("Invalid day: " + day);
+    public List<RoomStatusResponse> getRoomsFreeBetween(String building, String day, String startStr,
+            String endStr) {
+        return getRoomsFreeBetween(building, parseDay(day), parseMinuteOfDay(startStr), parseMinuteOfDay(endStr));
+    }
+
+    /**
+     * Get all rooms in a building that stay free for at least the given number of
+     * minutes starting at a specific time
+     * 
+     * @param building The building name
+     * @param day      The day of the week (Monday, Tuesday, etc.)
+     * @param startStr The time the room is needed from (HH:mm format)
+     * @param minutes  The number of minutes the room must stay free
+     * @return List of RoomStatusResponse objects for the rooms free for the window
+     */
+    public List<RoomStatusResponse> getRoomsFreeFor(String building, String day, String startStr, int minutes) {
+        int startMinute = parseMinuteOfDay(startStr);
+        return getRoomsFreeBetween(building, parseDay(day), startMinute, startMinute + minutes);
+    }
+
+    private List<RoomStatusResponse> getRoomsFreeBetween(String building, DayOfWeek day, int from, int to) {
+        validateWindow(from, to);
+
+        Timer.Sample sample = metrics.startQuery();
+        List<RoomSchedule> rooms = getRoomSchedules(building, day);
+
+        List<RoomStatusResponse> freeRooms = rooms.stream()
+                .filter(room -> room.getDay(day).isFreeBetween(from, to))
+                .map(room -> createRoomStatusResponse(room, day, from))
+                .collect(Collectors.toList());
+        metrics.recordQuery("window", sample, building, rooms.size(), rooms.size());
+        return freeRooms;
+    }
+
+    /**
+     * Convert room statuses into the compact columnar form, where every field is
+     * one array over the rooms and times are minutes since midnight
+     * 
+     * @param building The building name
+     * @param statuses Room statuses as returned by the building queries
+     * @return CompactRoomStatusResponse with the same rooms in the same order
+     */
+    public CompactRoomStatusResponse toCompact(String building, List<RoomStatusResponse> statuses) {
+        int count = statuses.size();
+        List<String> rooms = new ArrayList<>(count);
+        boolean[] open = new boolean[count];
+        Integer[] availableUntil = new Integer[count];
+        Integer[] availableFrom = new Integer[count];
+        int[][] occupied = new int[count][];
+        int[][] free = new int[count][];
+        for (int i = 0; i < count; i++) {
+            RoomStatusResponse status = statuses.get(i);
+            rooms.add(status.getRoomNumber());
+            open[i] = "OPEN".equals(status.getStatus());
+            availableUntil[i] = toMinuteOrNull(status.getAvailableUntil());
+            availableFrom[i] = toMinuteOrNull(status.getAvailableFrom());
+            occupied[i] = toMinuteBounds(status.getOccupiedRanges());
+            free[i] = toMinuteBounds(status.getFreeRanges());
         }
+        return new CompactRoomStatusResponse(building, rooms, open, availableUntil, availableFrom, occupied, free);
+    }
 
-        LocalTime queryTime = LocalTime.parse(timeStr);
+    private static Integer toMinuteOrNull(String time) {
+        return time == null ? null : DaySchedule.toMinuteOfDay(time);
+    }
 
-        // Debug logging to see what building name is being searched
-        System.out.println("🔍 Searching for building: '" + building + "' (length=" + building.length() + ")");
+    private static int[] toMinuteBounds(List<RoomUsage.TimeRange> ranges) {
+        if (ranges == null) {
+            return new int[0];
+        }
+        int[] bounds = new int[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            bounds[2 * i] = DaySchedule.toMinuteOfDay(ranges.get(i).getStart());
+            bounds[2 * i + 1] = DaySchedule.toMinuteOfDay(ranges.get(i).getEnd());
+        }
+        return bounds;
+    }
+
+    /**
+     * Get the status of every room in a building at many day/time probes at once.
+     * Each room's schedule is looked up once and every probe is a single bitmap
+     * test against it.
+     * 
+     * @param building The building name
+     * @param request  Either an explicit list of probes or a grid of days and
+     *                 times
+     * @return BatchStatusResponse with one status string per room and one
+     *         character per probe
+     */
+    public BatchStatusResponse getBatchStatus(String building, BatchStatusRequest request) {
+        List<BatchStatusRequest.Probe> probes = expandProbes(request);
+        DayOfWeek[] days = new DayOfWeek[probes.size()];
+        int[] minutes = new int[probes.size()];
+        for (int p = 0; p < probes.size(); p++) {
+            if (probes.get(p) == null || probes.get(p).getDay() == null || probes.get(p).getTime() == null) {
+                throw new IllegalArgumentException("Every probe requires a 'day' and a 'time'");
+            }
+            days[p] = parseDay(probes.get(p).getDay());
+            minutes[p] = parseMinuteOfDay(probes.get(p).getTime());
+        }
+
+        Timer.Sample sample = metrics.startQuery();
+        List<RoomSchedule> rooms = getRoomSchedules(building);
+
+        List<String> roomNumbers = new ArrayList<>(rooms.size());
+        List<String> statuses = new ArrayList<>(rooms.size());
+        char[] row = new char[probes.size()];
+        for (RoomSchedule room : rooms) {
+            for (int p = 0; p < row.length; p++) {
+                row[p] = room.getDay(days[p]).isOccupiedAt(minutes[p]) ? '0' : '1';
+            }
+            roomNumbers.add(room.getRoomNumber());
+            statuses.add(new String(row));
+        }
+        metrics.recordQuery("batch", sample, building, rooms.size(), rooms.size() * row.length);
+        return new BatchStatusResponse(building, probes, roomNumbers, statuses);
+    }
+
+    /**
+     * Turn a batch request into its list of probes, expanding a grid day by day
+     * 
+     * @param request The batch request
+     * @return The probes in response column order
+     */
+    private List<BatchStatusRequest.Probe> expandProbes(BatchStatusRequest request) {
+        boolean hasProbes = request.getProbes() != null;
+        boolean hasGrid = request.getDays() != null || request.getStart() != null || request.getEnd() != null;
+        if (hasProbes == hasGrid) {
+            throw new IllegalArgumentException("Exactly one of 'probes' or a 'days'/'start'/'end' grid is required");
+        }
 
-        List<RoomUsage> rooms = repository.findByBuilding(building);
+        List<BatchStatusRequest.Probe> probes;
+        if (hasProbes) {
+            probes = request.getProbes();
+        } else {
+            if (request.getDays() == null || request.getStart() == null || request.getEnd() == null) {
+                throw new IllegalArgumentException("A grid requires 'days', 'start' and 'end'");
+            }
+            int step = request.getStepMinutes() == null ? 60 : request.getStepMinutes();
+            // Bounded so the minute counter below cannot overflow
+            if (step < 1 || step > DaySchedule.MINUTES_PER_DAY) {
+                throw new IllegalArgumentException("Invalid step minutes: " + step);
+            }
+            int start = parseMinuteOfDay(request.getStart());
+            int end = parseMinuteOfDay(request.getEnd());
+            probes = new ArrayList<>();
+            for (String day : request.getDays()) {
+                for (int minute = start; minute <= end && probes.size() <= MAX_BATCH_PROBES; minute += step) {
+                    probes.add(new BatchStatusRequest.Probe(day, DaySchedule.formatMinuteOfDay(minute)));
+                }
+            }
+        }
+
+        if (probes.isEmpty() || probes.size() > MAX_BATCH_PROBES) {
+            throw new IllegalArgumentException("A batch must have between 1 and " + MAX_BATCH_PROBES + " probes");
+        }
+        return probes;
+    }
+
+    /**
+     * Get the average number of free rooms in a building for each bucket of the
+     * building hours on every weekday, from the heatmap precomputed when the
+     * index was loaded
+     * 
+     * @param building      The building name
+     * @param bucketMinutes The bucket length, a multiple of 5 minutes
+     * @return HeatmapResponse for the building, or null if the building is
+     *         unknown
+     */
+    public HeatmapResponse getHeatmap(String building, int bucketMinutes) {
+        validateBucketMinutes(bucketMinutes);
+        RoomScheduleIndex current = currentIndex();
+        OccupancyHeatmap heatmap;
+        if (current != null) {
+            metrics.recordIndexLookup(true);
+            heatmap = current.getHeatmap(building);
+        } else {
+            List<RoomSchedule> rooms = getRoomSchedules(building);
+            heatmap = rooms.isEmpty() ? null : OccupancyHeatmap.of(rooms, buildingHours);
+        }
+        return heatmap == null ? null : createHeatmapResponse(building, heatmap, bucketMinutes);
+    }
 
-        // Debug logging to see how many rooms were found
-        System.out.println("📊 Found " + rooms.size() + " rooms for building: '" + building + "'");
+    /**
+     * Get the heatmap of every building on campus
+     * 
+     * @param bucketMinutes The bucket length, a multiple of 5 minutes
+     * @return List of HeatmapResponse objects ordered by building
+     */
+    public List<HeatmapResponse> getCampusHeatmap(int bucketMinutes) {
+        validateBucketMinutes(bucketMinutes);
+        RoomScheduleIndex current = getCampusIndex();
+        return campusExecutor.mapBuildings("heatmap", current.getBuildings(),
+                building -> current.getRooms(building).size(),
+                building -> createHeatmapResponse(building, current.getHeatmap(building), bucketMinutes));
+    }
 
-        return rooms.stream()
-                .map(room -> createRoomStatusResponse(room, normalizedDay, queryTime))
+    /**
+     * @param bucketMinutes A heatmap bucket length
+     * @throws IllegalArgumentException if it is not a positive multiple of 5
+     *                                  minutes within the building hours
+     */
+    public void validateBucketMinutes(int bucketMinutes) {
+        if (bucketMinutes <= 0 || bucketMinutes % OccupancyHeatmap.STEP_MINUTES != 0
+                || bucketMinutes > buildingHours.getCloseMinute() - buildingHours.getOpenMinute()) {
+            throw new IllegalArgumentException("Invalid bucket minutes: " + bucketMinutes);
+        }
+    }
+
+    private HeatmapResponse createHeatmapResponse(String building, OccupancyHeatmap heatmap, int bucketMinutes) {
+        Map<String, double[]> freeRooms = new LinkedHashMap<>();
+        for (int day = 1; day <= DayOfWeek.FRIDAY.getValue(); day++) {
+            double[] buckets = heatmap.averageFreeRooms(DayOfWeek.of(day), bucketMinutes);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = Math.round(buckets[i] * 10) / 10.0;
+            }
+            String name = DayOfWeek.of(day).name();
+            freeRooms.put(name.charAt(0) + name.substring(1).toLowerCase(), buckets);
+        }
+
+        List<String> times = new ArrayList<>();
+        for (int minute = heatmap.getOpenMinute(); minute < heatmap.getCloseMinute(); minute += bucketMinutes) {
+            times.add(DaySchedule.formatMinuteOfDay(minute));
+        }
+        return new HeatmapResponse(building, heatmap.getRoomCount(), bucketMinutes, times, freeRooms);
+    }
+
+    /**
+     * Find the next minute after the given one at which any room in the building
+     * changes between OPEN and OCCUPIED
+     * 
+     * @param building    The building name
+     * @param day         A weekday between Monday and Friday
+     * @param afterMinute The minute of the day to search after
+     * @return Minute of the day of the next status change, or -1 if no room
+     *         changes status for the rest of the day
+     */
+    public int getNextStatusChange(String building, DayOfWeek day, int afterMinute) {
+        RoomScheduleIndex current = currentIndex();
+        int[] boundaries = current != null
+                ? current.getStatusBoundaries(building, day)
+                : RoomScheduleIndex.statusBoundaries(getRoomSchedules(building, day), day);
+        int i = Arrays.binarySearch(boundaries, afterMinute + 1);
+        i = i >= 0 ? i : -i - 1;
+        return i < boundaries.length ? boundaries[i] : -1;
+    }
+
+    /**
+     * Get the rooms in a building whose status changed at any minute after
+     * {@code sinceMinute} up to and including {@code minute}, so a broadcast that
+     * runs late still reports every transition it skipped over
+     * 
+     * @param building    The building name
+     * @param day         A weekday between Monday and Friday
+     * @param sinceMinute The minute of the day statuses were last reported at
+     * @param minute      The current minute of the day
+     * @return List of RoomStatusResponse objects at {@code minute} for the rooms
+     *         that changed status
+     */
+    public List<RoomStatusResponse> getStatusChanges(String building, DayOfWeek day, int sinceMinute, int minute) {
+        Timer.Sample sample = metrics.startQuery();
+        List<RoomSchedule> rooms = getRoomSchedules(building, day);
+
+        List<RoomStatusResponse> changes = rooms.stream()
+                .filter(room -> changedBetween(room.getDay(day), sinceMinute, minute))
+                .map(room -> createRoomStatusResponse(room, day, minute))
                 .collect(Collectors.toList());
+        metrics.recordQuery("changes", sample, building, rooms.size(), rooms.size() * 2);
+        return changes;
+    }
+
+    private static boolean changedBetween(DaySchedule schedule, int sinceMinute, int minute) {
+        if (minute <= sinceMinute) {
+            return false;
+        }
+        int flip = schedule.isOccupiedAt(sinceMinute)
+                ? schedule.nextFreeMinute(sinceMinute)
+                : schedule.nextOccupiedMinute(sinceMinute);
+        return flip >= 0 && flip <= minute;
     }
 
     /**
      * Create a RoomStatusResponse object for a given room, day, and time
      * 
-     * @param room      The room usage data
-     * @param day       The normalized day string
-     * @param queryTime The time to check availability
+     * @param room        The pre-parsed room schedule
+     * @param day         The day of the week
+     * @param queryMinute The minute of the day to check availability
      * @return RoomStatusResponse object
      */
-    private RoomStatusResponse createRoomStatusResponse(RoomUsage room, String day, LocalTime queryTime) {
+    RoomStatusResponse createRoomStatusResponse(RoomSchedule room, DayOfWeek day, int queryMinute) {
         String roomNumber = room.getRoomNumber();
-        List<RoomUsage.TimeRange> timeRanges = getTimeRangesForDay(room, day);
+        DaySchedule schedule = room.getDay(day);
 
-        if (timeRanges == null || timeRanges.isEmpty()) {
+        if (schedule.isEmpty()) {
             // Room is free for the entire day
-            return new RoomStatusResponse(roomNumber, "OPEN", null, null);
+            return new RoomStatusResponse(roomNumber, "OPEN", null, null, null, schedule.getFreeRanges());
         }
 
-        // Check if room is occupied at the query time
-        boolean isOccupied = timeRanges.stream()
-                .anyMatch(range -> {
-                    LocalTime start = LocalTime.parse(range.getStart());
-                    LocalTime end = LocalTime.parse(range.getEnd());
-                    return !queryTime.isBefore(start) && queryTime.isBefore(end);
-                });
-
-        if (isOccupied) {
-            // Room is occupied, return all occupied ranges
-            return new RoomStatusResponse(roomNumber, "OCCUPIED", null, timeRanges);
+        int freeUntil = schedule.freeUntil(queryMinute);
+        if (freeUntil < 0) {
+            // Room is occupied, return all occupied ranges and when it frees up next
+            int nextFree = schedule.nextFreeAfter(queryMinute);
+            String availableFrom = nextFree < 0 ? null : DaySchedule.formatMinuteOfDay(nextFree);
+            return new RoomStatusResponse(roomNumber, "OCCUPIED", null, availableFrom, schedule.getRanges(),
+                    schedule.getFreeRanges());
         } else {
-            // Room is open, find when it becomes occupied next
-            String availableUntil = findNextOccupiedTime(timeRanges, queryTime);
+            // Room is open until the end of its current free gap
             // Always include occupied ranges so frontend can display all occupied times
-            return new RoomStatusResponse(roomNumber, "OPEN", availableUntil, timeRanges);
+            return new RoomStatusResponse(roomNumber, "OPEN", formatAvailableUntil(freeUntil), null,
+                    schedule.getRanges(), schedule.getFreeRanges());
         }
     }
 
     /**
-     * Get time ranges for a specific day from room usage
+     * Format the end of a free gap as an availableUntil value
      * 
-     * @param room The room usage data
-     * @param day  The normalized day string
-     * @return List of time ranges for the specified day
+     * @param freeUntil End of the free gap as a minute of the day
+     * @return Time string in HH:mm format, or null if free for rest of day
      */
-    private List<RoomUsage.TimeRange> getTimeRangesForDay(RoomUsage room, String day) {
-        if (room.getUsage() == null) {
-            return null;
-        }
+    private String formatAvailableUntil(int freeUntil) {
+        return freeUntil >= DaySchedule.MINUTES_PER_DAY ? null : DaySchedule.formatMinuteOfDay(freeUntil);
+    }
 
-        switch (day) {
-            case "monday":
-                return room.getUsage().getMonday();
-            case "tuesday":
-                return room.getUsage().getTuesday();
-            case "wednesday":
-                return room.getUsage().getWednesday();
-            case "thursday":
-                return room.getUsage().getThursday();
-            case "friday":
-                return room.getUsage().getFriday();
-            default:
-                return null;
+    /**
+     * Get the schedules of every room in a building, from the in-memory index when
+     * it is loaded and from Mongo otherwise
+     * 
+     * @param building The building name
+     * @return List of room schedules
+     */
+    private List<RoomSchedule> getRoomSchedules(String building) {
+        RoomScheduleIndex current = currentIndex();
+        metrics.recordIndexLookup(current != null);
+        if (current != null) {
+            return current.getRooms(building);
         }
+        return repository.findByBuilding(building).stream()
+                .map(room -> RoomSchedule.of(room, buildingHours))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Find the next time when the room becomes occupied after the query time
+     * Get the schedules of every room in a building for queries that only look at
+     * one day. When they have to come from Mongo only that day's usage is read;
+     * the other days of the returned schedules are empty.
      * 
-     * @param timeRanges List of occupied time ranges
-     * @param queryTime  The current query time
-     * @return Time string in HH:mm format when room becomes occupied, or null if
-     *         free for rest of day
+     * @param building The building name
+     * @param day      The only day the caller looks at
+     * @return List of room schedules
      */
-    private String findNextOccupiedTime(List<RoomUsage.TimeRange> timeRanges, LocalTime queryTime) {
-        if (timeRanges == null || timeRanges.isEmpty()) {
-            return null;
+    private List<RoomSchedule> getRoomSchedules(String building, DayOfWeek day) {
+        RoomScheduleIndex current = currentIndex();
+        metrics.recordIndexLookup(current != null);
+        if (current != null) {
+            return current.getRooms(building);
+        }
+        return repository.findDayByBuilding(building, day).stream()
+                .map(room -> RoomSchedule.of(room, buildingHours))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The loaded index, or an index built from a single Mongo scan
+     *         otherwise
+     */
+    private RoomScheduleIndex getCampusIndex() {
+        RoomScheduleIndex current = currentIndex();
+        metrics.recordIndexLookup(current != null);
+        if (current != null) {
+            return current;
+        }
+        return RoomScheduleIndex.build(repository.findAll(), buildingHours, campusExecutor);
+    }
+
+    DayOfWeek parseDay(String day) {
+        String normalizedDay = day.trim().toLowerCase();
+        if (!Set.of("monday", "tuesday", "wednesday", "thursday", "friday").contains(normalizedDay)) {
+            throw new IllegalArgumentException("Invalid day: " + day);
         }
+        return DayOfWeek.valueOf(normalizedDay.toUpperCase());
+    }
 
-        // Find the next occupied range that starts after the query time
-        return timeRanges.stream()
-                .filter(range -> {
-                    LocalTime start = LocalTime.parse(range.getStart());
-                    return start.isAfter(queryTime);
-                })
-                .min((r1, r2) -> {
-                    LocalTime start1 = LocalTime.parse(r1.getStart());
-                    LocalTime start2 = LocalTime.parse(r2.getStart());
-                    return start1.compareTo(start2);
-                })
-                .map(range -> range.getStart())
-                .orElse(null); // Room is free for the rest of the day
+    int parseMinuteOfDay(String timeStr) {
+        try {
+            return LocalTime.parse(timeStr).toSecondOfDay() / 60;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + timeStr);
+        }
     }
 
     public List<String> getAllBuildings() {
+        RoomScheduleIndex current = currentIndex();
+        metrics.recordIndexLookup(current != null);
+        if (current != null) {
+            return new ArrayList<>(current.getBuildings());
+        }
         List<String> buildings = mongoTemplate.query(RoomUsage.class)
                 .distinct("building")
                 .as(String.class)
@@ -223,18 +753,228 @@ public class RoomUsageService {
         return buildings;
     }
 
+    /**
+     * Get a room by building and room number. Once the index is loaded, names are
+     * matched regardless of case, spacing and punctuation, and a misspelled
+     * building resolves to the closest building name.
+     * 
+     * @param building The building name
+     * @param room     The room number
+     * @return The room, or null if it is not found
+     */
     public RoomUsage getRoomByName(String building, String room) {
+        RoomScheduleIndex current = currentIndex();
+        metrics.recordIndexLookup(current != null);
+        if (current != null) {
+            RoomSchedule schedule = current.findRoom(building.trim(), room.trim());
+            return schedule == null ? null : schedule.getRoom();
+        }
         return repository.findByBuildingAndRoom(building.trim(), room.trim())
                 .orElse(null);
     }
 
-    @PostConstruct
-    public void printAllRoomsOnceOnStartup() {
-        List<RoomUsage> all = repository.findAll();
-        for (RoomUsage room : all) {
-            System.out.println("📄 Room from DB -> " +
-                    "building='" + room.getBuilding() + "' (length=" + room.getBuilding().length() + "), " +
-                    "room='" + room.getRoomNumber() + "' (length=" + room.getRoomNumber().length() + ")");
+    /**
+     * Suggest buildings and rooms for a partially typed name. Before the index is
+     * loaded only buildings are suggested.
+     * 
+     * @param query The text typed so far
+     * @param limit Maximum number of results, at most {@value #MAX_SEARCH_RESULTS}
+     * @return Matching buildings and rooms, best first
+     */
+    public List<SearchResult> search(String query, int limit) {
+        validateSearchLimit(limit);
+        RoomScheduleIndex current = currentIndex();
+        if (current != null) {
+            metrics.recordIndexLookup(true);
+            return current.getNames().search(query, limit);
+        }
+        Map<String, List<String>> buildings = new LinkedHashMap<>();
+        getAllBuildings().forEach(building -> buildings.put(building, List.of()));
+        return new NameIndex(buildings).search(query, limit);
+    }
+
+    /**
+     * @param limit A search result limit
+     * @throws IllegalArgumentException if it is not between 1 and
+     *                                  {@value #MAX_SEARCH_RESULTS}
+     */
+    public void validateSearchLimit(int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
         }
     }
+
+    /**
+     * Reload the current term's collection from Mongo page by page and atomically
+     * replace its in-memory index. Requests keep being answered from the previous
+     * index, or from Mongo before the first load, until the new one is fully
+     * built.
+     *
+     * @return Number of rooms in the new index
+     */
+    public int reloadIndex() {
+        List<RoomUsage> all = new ArrayList<>();
+        Pageable page = PageRequest.of(0, pageSize, Sort.by("_id"));
+        Slice<RoomUsage> slice;
+        do {
+            slice = repository.findAllBy(page);
+            all.addAll(slice.getContent());
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+
+        return loadIndex(all);
+    }
+
+    /**
+     * Reload a term's collection from Mongo while other terms keep serving
+     *
+     * @param term A configured term name
+     * @return Number of rooms in the new index
+     */
+    public int reloadIndex(String term) {
+        return terms.callInTerm(term, this::reloadIndex);
+    }
+
+    /**
+     * Build an index from the given rooms and atomically replace the current
+     * term's in-memory index with it
+     *
+     * @param rooms Every room usage document of the dataset
+     * @return Number of rooms in the new index
+     */
+    public int loadIndex(List<RoomUsage> rooms) {
+        return loadIndex(terms.getCurrentTerm(), rooms);
+    }
+
+    /**
+     * Build an index from the given rooms and atomically replace a term's
+     * in-memory index with it
+     *
+     * @param term  A configured term name
+     * @param rooms Every room usage document of the term
+     * @return Number of rooms in the new index
+     */
+    public int loadIndex(String term, List<RoomUsage> rooms) {
+        replaceIndex(term, RoomScheduleIndex.build(rooms, buildingHours, campusExecutor));
+        log.info("Loaded {} rooms into the schedule index for {}", rooms.size(), term);
+        return rooms.size();
+    }
+
+    /**
+     * Apply changed room documents to a term's index. Only the buildings of the
+     * changed rooms are rebuilt; every other building keeps its schedules and its
+     * version, so its cached responses stay valid.
+     *
+     * @param term    A configured term name
+     * @param changes New state of each changed room document by id, null for a
+     *                removed document
+     * @return false if the term's index is not loaded yet and nothing was applied
+     */
+    public synchronized boolean applyChanges(String term, Map<String, RoomUsage> changes) {
+        RoomScheduleIndex current = indexes.get(term);
+        if (current == null) {
+            return false;
+        }
+        replaceIndex(term, current.withChanges(changes));
+        log.info("Applied {} room changes to the schedule index for {}", changes.size(), term);
+        return true;
+    }
+
+    private synchronized void replaceIndex(String term, RoomScheduleIndex index) {
+        Map<String, RoomScheduleIndex> next = new HashMap<>(indexes);
+        next.put(term, index);
+        indexes = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * @return The room usage documents in the current term's index, or an empty
+     *         list if it has not been loaded yet
+     */
+    public List<RoomUsage> getIndexedRooms() {
+        RoomScheduleIndex current = currentIndex();
+        if (current == null) {
+            return List.of();
+        }
+        return current.getAllRooms().stream()
+                .map(RoomSchedule::getRoom)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Version hash of the current term's dataset, or null while queries
+     *         are still answered from Mongo and results may change at any time
+     */
+    public String getDatasetVersion() {
+        RoomScheduleIndex current = currentIndex();
+        return current == null ? null : current.getVersion();
+    }
+
+    /**
+     * @param building The building name
+     * @return Version hash of the building's rooms in the current term, the
+     *         dataset version if the building is unknown, or null while queries
+     *         are still answered from Mongo
+     */
+    public String getBuildingVersion(String building) {
+        RoomScheduleIndex current = currentIndex();
+        if (current == null) {
+            return null;
+        }
+        String version = current.getBuildingVersion(building);
+        return version != null ? version : current.getVersion();
+    }
+
+    /**
+     * @param building The building name
+     * @return true once the current term's index is loaded and holds rooms of
+     *         the building
+     */
+    public boolean isBuildingIndexed(String building) {
+        RoomScheduleIndex current = currentIndex();
+        return current != null && current.getBuildingVersion(building) != null;
+    }
+
+    /**
+     * @return true once the current term's index has been loaded and queries no
+     *         longer go to Mongo
+     */
+    public boolean isIndexLoaded() {
+        return currentIndex() != null;
+    }
+
+    /**
+     * @return Names of the terms whose index is loaded
+     */
+    public Set<String> getLoadedTerms() {
+        return indexes.keySet();
+    }
+
+    /**
+     * @param term A configured term name
+     * @return Number of rooms in the term's index, or 0 if it is not loaded
+     */
+    public int getIndexedRoomCount(String term) {
+        RoomScheduleIndex index = indexes.get(term);
+        return index == null ? 0 : index.getRoomCount();
+    }
+
+    /**
+     * @param room A room usage document
+     * @return The room's schedule with free ranges clipped to the building hours
+     */
+    RoomSchedule toSchedule(RoomUsage room) {
+        return RoomSchedule.of(room, buildingHours);
+    }
+
+    boolean isAggregationMode() {
+        return aggregationMode;
+    }
+
+    /**
+     * @return Index of the term selected for the calling thread, or null while it
+     *         is not loaded
+     */
+    RoomScheduleIndex currentIndex() {
+        return indexes.get(terms.getCurrentTerm());
+    }
 }
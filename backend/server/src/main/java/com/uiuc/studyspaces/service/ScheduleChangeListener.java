@@ -0,0 +1,382 @@
+package com.uiuc.studyspaces.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomUsage;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory schedule index of every term in sync with its Mongo
+ * collection after warm-up, so a re-scrape shows up without a restart.
+ * <p>
+ * Each term has a thread watching its collection through a change stream.
+ * Changed documents are buffered until no change arrived for
+ * {@code studyspaces.reload.quiet-period} (the scraper replaces the whole
+ * collection in two bulk writes) and then applied with
+ * {@link RoomUsageService#applyChanges}, which only rebuilds the affected
+ * buildings. The scraper deletes every document before inserting the new
+ * ones, so a batch that would remove more than half of a term's rooms is held
+ * until the inserts arrive; if none follow within
+ * {@code studyspaces.reload.poll-interval} the whole term is reloaded
+ * instead. Change streams need a replica set; on a standalone server the
+ * thread instead polls the collection's document count and newest id every
+ * {@code studyspaces.reload.poll-interval} and reloads the whole term when
+ * they differ from its index.
+ * <p>
+ * Either way the index is compared with its collection once it is loaded, so
+ * a term loaded from a snapshot older than the collection is reloaded.
+ */
+@Component
+public class ScheduleChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleChangeListener.class);
+
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+    private static final Duration MAX_BATCH_DELAY = Duration.ofSeconds(30); // bound on buffering a steady stream
+
+    private final RoomUsageService service;
+    private final SemesterTerms terms;
+    private final MongoTemplate mongoTemplate;
+    private final RoomStatusBroadcaster broadcaster;
+    private final ScheduleIndexWarmer warmer;
+    private final StudySpacesProperties.Reload.Mode mode;
+    private final boolean enabled;
+    private final long pollIntervalMillis;
+    private final long quietPeriodNanos;
+    private final long maxBatchDelayNanos;
+    private final long shrinkWaitNanos;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public ScheduleChangeListener(RoomUsageService service, SemesterTerms terms, MongoTemplate mongoTemplate,
+                                  RoomStatusBroadcaster broadcaster, ScheduleIndexWarmer warmer,
+                                  StudySpacesProperties properties) {
+        this.service = service;
+        this.terms = terms;
+        this.mongoTemplate = mongoTemplate;
+        this.broadcaster = broadcaster;
+        this.warmer = warmer;
+        StudySpacesProperties.Reload reload = properties.getReload();
+        this.mode = reload.getMode();
+        this.enabled = mode != StudySpacesProperties.Reload.Mode.OFF
+                && properties.getIndex().getMode() == StudySpacesProperties.Index.Mode.MEMORY;
+        this.pollIntervalMillis = reload.getPollInterval().toMillis();
+        this.quietPeriodNanos = reload.getQuietPeriod().toNanos();
+        this.maxBatchDelayNanos = Math.max(quietPeriodNanos, MAX_BATCH_DELAY.toNanos());
+        this.shrinkWaitNanos = Math.max(quietPeriodNanos, reload.getPollInterval().toNanos());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listenInBackground() {
+        if (!enabled) {
+            return;
+        }
+        for (String term : terms.getNames()) {
+            Thread thread = new Thread(() -> listen(term), "schedule-changes-" + term);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped.countDown();
+    }
+
+    private void listen(String term) {
+        if (mode == StudySpacesProperties.Reload.Mode.AUTO && watch(term)) {
+            return;
+        }
+        poll(term);
+    }
+
+    /**
+     * Apply changes from the term's change stream until shutdown, reopening the
+     * stream after errors
+     *
+     * @return false if the server does not support change streams
+     */
+    private boolean watch(String term) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(terms.getCollection(term));
+        boolean resync = false;
+        boolean reconciled = false;
+        while (stopped.getCount() > 0) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(collection)) {
+                log.info("Watching {} for schedule changes", collection.getNamespace());
+                if (resync) {
+                    // Changes made while the stream was down are only in a full read
+                    reloadIfLoaded(term);
+                    resync = false;
+                }
+                Batch batch = new Batch();
+                while (stopped.getCount() > 0) {
+                    if (!reconciled && service.getLoadedTerms().contains(term)) {
+                        // The stream is open, so anything the comparison misses arrives through it
+                        reconcile(term, collection);
+                        reconciled = true;
+                    }
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    long now = System.nanoTime();
+                    if (event != null && !record(event, batch, now)) {
+                        // The collection was dropped or renamed and this stream is closed
+                        resync = true;
+                        break;
+                    }
+                    if (!batch.isDue(now, quietPeriodNanos, maxBatchDelayNanos)) {
+                        continue;
+                    }
+                    if (!removesMostRooms(batch.removals(), service.getIndexedRoomCount(term))) {
+                        if (service.applyChanges(term, batch.changes)) {
+                            batch = new Batch();
+                            afterChange(term);
+                        }
+                    } else if (now - batch.lastChange >= shrinkWaitNanos) {
+                        // No inserts followed the deletes, so read whatever the collection holds now
+                        log.warn("{} lost {} of {} rooms without replacements, reloading the whole term",
+                                collection.getNamespace(), batch.removals(), service.getIndexedRoomCount(term));
+                        reloadIfLoaded(term);
+                        batch = new Batch();
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.info("{} does not support change streams, polling for schedule changes instead",
+                            collection.getNamespace());
+                    return false;
+                }
+                resync = failed(collection, e);
+            } catch (RuntimeException e) {
+                resync = failed(collection, e);
+            }
+        }
+        return true;
+    }
+
+    private boolean failed(MongoCollection<Document> collection, RuntimeException e) {
+        log.warn("Schedule change stream on {} failed, reopening", collection.getNamespace(), e);
+        sleep(pollIntervalMillis);
+        return true;
+    }
+
+    private static MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(MongoCollection<Document> collection) {
+        return collection.watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS)
+                .cursor();
+    }
+
+    /**
+     * Buffer the new state of the document an event touched
+     *
+     * @return false if the event invalidates the whole collection
+     */
+    private boolean record(ChangeStreamDocument<Document> event, Batch batch, long now) {
+        switch (event.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                // The looked-up document is null if it was deleted before the lookup ran
+                Document document = event.getFullDocument();
+                batch.put(documentId(event.getDocumentKey()),
+                        document == null ? null : mongoTemplate.getConverter().read(RoomUsage.class, document), now);
+                return true;
+            }
+            case DELETE -> {
+                batch.put(documentId(event.getDocumentKey()), null, now);
+                return true;
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                return false;
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+
+    private static String documentId(BsonDocument key) {
+        BsonValue id = key.get("_id");
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    /**
+     * @param removed Rooms a change would remove, net of the rooms it adds
+     * @param rooms   Rooms in the term's index
+     * @return true if the change would remove more than half of the rooms, as
+     *         the scraper's delete does before its insert
+     */
+    private static boolean removesMostRooms(long removed, long rooms) {
+        return removed > 0 && removed * 2 > rooms;
+    }
+
+    /**
+     * Reload the term whenever its collection's fingerprint differs from its
+     * index, until shutdown
+     */
+    private void poll(String term) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(terms.getCollection(term));
+        log.info("Polling {} for schedule changes every {} ms", collection.getNamespace(), pollIntervalMillis);
+        Fingerprint held = null;
+        do {
+            // Until the warmer has loaded the term it reads the latest data anyway
+            if (!service.getLoadedTerms().contains(term)) {
+                continue;
+            }
+            try {
+                Fingerprint current = fingerprint(collection);
+                Fingerprint indexed = indexFingerprint(term);
+                if (current.equals(indexed)) {
+                    held = null;
+                } else if (removesMostRooms(indexed.count() - current.count(), indexed.count())
+                        && !current.equals(held)) {
+                    // Probably between the scraper's delete and insert; reload if it still looks like this next time
+                    held = current;
+                } else {
+                    held = null;
+                    reloadIfLoaded(term);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not poll {} for schedule changes", collection.getNamespace(), e);
+            }
+        } while (!sleep(pollIntervalMillis));
+    }
+
+    /**
+     * Reload a loaded term whose index does not match its collection, such as
+     * one loaded from a snapshot taken before the last re-scrape
+     */
+    private void reconcile(String term, MongoCollection<Document> collection) {
+        try {
+            if (!fingerprint(collection).equals(indexFingerprint(term))) {
+                log.info("Schedule index for {} is out of date with {}, reloading", term, collection.getNamespace());
+                reloadIfLoaded(term);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not compare the schedule index for {} with {}", term, collection.getNamespace(), e);
+        }
+    }
+
+    /**
+     * Document count and newest id. A re-scrape inserts every document again, so
+     * it always changes the newest id.
+     */
+    private static Fingerprint fingerprint(MongoCollection<Document> collection) {
+        Document stats = collection.aggregate(List.of(Aggregates.group(null,
+                Accumulators.sum("count", 1),
+                Accumulators.max("newest", "$_id")))).first();
+        if (stats == null) {
+            return new Fingerprint(0, null);
+        }
+        Object newest = stats.get("newest");
+        return new Fingerprint(stats.get("count", Number.class).longValue(),
+                newest instanceof ObjectId id ? id.toHexString() : Objects.toString(newest, null));
+    }
+
+    /**
+     * The same fingerprint over the rooms in a term's index, whose ids are the
+     * string form of the document ids
+     */
+    private Fingerprint indexFingerprint(String term) {
+        List<RoomUsage> rooms = terms.callInTerm(term, service::getIndexedRooms);
+        String newest = rooms.stream()
+                .map(RoomUsage::getId)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new Fingerprint(rooms.size(), newest);
+    }
+
+    private void reloadIfLoaded(String term) {
+        // Until the warmer has loaded the term it reads the latest data anyway
+        if (!service.getLoadedTerms().contains(term)) {
+            return;
+        }
+        try {
+            service.reloadIndex(term);
+            afterChange(term);
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the schedule index for {}", term, e);
+        }
+    }
+
+    private void afterChange(String term) {
+        // Subscribers' next boundary may have moved
+        broadcaster.reschedule();
+        warmer.writeSnapshot(term);
+    }
+
+    private record Fingerprint(long count, String newest) {
+    }
+
+    /**
+     * Changed documents buffered from a change stream, by id
+     */
+    private static final class Batch {
+
+        private final Map<String, RoomUsage> changes = new LinkedHashMap<>();
+        private int removed; // null entries of changes
+        private long firstChange;
+        private long lastChange;
+
+        void put(String id, RoomUsage room, long now) {
+            firstChange = changes.isEmpty() ? now : firstChange;
+            lastChange = now;
+            if (changes.containsKey(id) && changes.get(id) == null) {
+                removed--;
+            }
+            changes.put(id, room);
+            if (room == null) {
+                removed++;
+            }
+        }
+
+        /**
+         * @return Removed documents less written ones
+         */
+        int removals() {
+            return removed - (changes.size() - removed);
+        }
+
+        boolean isDue(long now, long quietPeriodNanos, long maxDelayNanos) {
+            return !changes.isEmpty()
+                    && (now - lastChange >= quietPeriodNanos || now - firstChange >= maxDelayNanos);
+        }
+    }
+
+    /**
+     * @return true if the application is shutting down
+     */
+    private boolean sleep(long millis) {
+        try {
+            return stopped.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warms the in-memory schedule index of every configured term on a background
+ * thread once the application is up, so startup does not block on reading the
+ * whole collection. The active term is warmed first; until a term is warm
+ * {@link RoomUsageService} answers it from Mongo. Progress is reported as the
+ * {@code scheduleIndex} health contributor.
+ * <p>
+ * When {@code studyspaces.snapshot.path} is set each term is loaded from its
+ * {@link ScheduleSnapshot} next to that path (e.g. {@code fall2025-rooms.snap})
+ * if it exists, without touching Mongo; otherwise it is read from Mongo and the
+ * snapshot is written for the next start. With
+ * {@code studyspaces.index.mode=aggregation} no index is loaded at all.
+ */
+@Component("scheduleIndex")
+public class ScheduleIndexWarmer implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleIndexWarmer.class);
+
+    enum State {
+        PENDING, WARMING, READY, FAILED, DISABLED
+    }
+
+    private final RoomUsageService service;
+    private final SemesterTerms terms;
+    private final Path snapshotPath;
+    private final boolean enabled;
+
+    private volatile State state = State.PENDING;
+    private volatile long warmupMillis;
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+    private final Map<String, Integer> roomCounts = new ConcurrentHashMap<>();
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    public ScheduleIndexWarmer(RoomUsageService service, SemesterTerms terms, StudySpacesProperties properties) {
+        this.service = service;
+        this.terms = terms;
+        String path = properties.getSnapshot().getPath();
+        this.snapshotPath = path == null || path.isBlank() ? null : Path.of(path);
+        this.enabled = properties.getIndex().getMode() == StudySpacesProperties.Index.Mode.MEMORY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmInBackground() {
+        if (!enabled) {
+            state = State.DISABLED;
+            log.info("Schedule index disabled, answering every query from Mongo");
+            return;
+        }
+        Thread thread = new Thread(this::warm, "schedule-index-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warm() {
+        state = State.WARMING;
+        long start = System.nanoTime();
+        String active = terms.getActiveTerm();
+        List<String> order = new ArrayList<>(terms.getNames());
+        order.remove(active);
+        order.add(0, active);
+
+        for (String term : order) {
+            try {
+                if (!loadSnapshot(term)) {
+                    roomCounts.put(term, service.reloadIndex(term));
+                    sources.put(term, "mongo");
+                    writeSnapshot(term);
+                }
+                log.info("Schedule index for {} warm from {}", term, sources.get(term));
+            } catch (RuntimeException e) {
+                failures.put(term, String.valueOf(e.getMessage()));
+                log.warn("Schedule index warm-up for {} failed, continuing to serve it from Mongo", term, e);
+            }
+        }
+        warmupMillis = (System.nanoTime() - start) / 1_000_000;
+        // Only the term most requests go to decides whether warm-up succeeded
+        state = failures.containsKey(active) ? State.FAILED : State.READY;
+        log.info("Schedule index warm-up finished after {} ms", warmupMillis);
+    }
+
+    private boolean loadSnapshot(String term) {
+        Path path = snapshotPath(term);
+        if (path == null || !Files.exists(path)) {
+            return false;
+        }
+        try {
+            roomCounts.put(term, service.loadIndex(term, ScheduleSnapshot.read(path)));
+            sources.put(term, "snapshot");
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not read schedule snapshot {}, warming from Mongo instead", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * Rewrite a term's snapshot from its index, if snapshots are enabled
+     *
+     * @param term A configured term name
+     */
+    void writeSnapshot(String term) {
+        Path path = snapshotPath(term);
+        if (path == null) {
+            return;
+        }
+        try {
+            ScheduleSnapshot.write(path, terms.callInTerm(term, service::getIndexedRooms));
+            log.info("Wrote schedule snapshot to {}", path);
+        } catch (IOException e) {
+            // The index is already serving; a missing snapshot only slows the next start
+            log.warn("Could not write schedule snapshot to {}", path, e);
+        }
+    }
+
+    private Path snapshotPath(String term) {
+        return snapshotPath == null ? null : snapshotPath.resolveSibling(term + "-" + snapshotPath.getFileName());
+    }
+
+    /**
+     * UP while warming, since the service answers from Mongo meanwhile; the
+     * details tell operators which path is serving each term. DOWN once warm-up
+     * of the active term has failed, as every request for it then goes to Mongo
+     * until the next reload.
+     */
+    @Override
+    public Health health() {
+        Health.Builder health = (state == State.FAILED ? Health.down() : Health.up())
+                .withDetail("state", state)
+                .withDetail("activeTerm", terms.getActiveTerm())
+                .withDetail("indexLoaded", service.isIndexLoaded());
+        Map<String, Object> byTerm = new TreeMap<>();
+        for (String term : terms.getNames()) {
+            Map<String, Object> details = new TreeMap<>();
+            details.put("loaded", service.getLoadedTerms().contains(term));
+            if (sources.containsKey(term)) {
+                details.put("source", sources.get(term));
+                details.put("rooms", roomCounts.get(term));
+            }
+            if (failures.containsKey(term)) {
+                details.put("error", failures.get(term));
+            }
+            byTerm.put(term, details);
+        }
+        health.withDetail("terms", byTerm);
+        if (state == State.READY || state == State.FAILED) {
+            health.withDetail("warmupMillis", warmupMillis);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of the room schedule collection, so an instance can
+ * build its index from a local file instead of reading every document from
+ * Mongo.
+ *
+ * <pre>
+ * int    magic 'SSNP', short version
+ * int    string count, then per string: unsigned short length + UTF-8 bytes
+ * int    room count, then per room:
+ *        int id, int building, int room, int room_id, int semester (string refs, -1 for null)
+ *        short course count (-1 for null) + int string refs
+ *        byte 1 if the room has usage, then per weekday Monday-Friday:
+ *             short range count (-1 for null) + short start/end minute pairs
+ *        byte 1 if the room has a location, then double latitude + double longitude
+ * </pre>
+ *
+ * Every id, building, room, course and semester string is stored once in the
+ * table and shared by all rooms that reference it after loading. Ranges are
+ * stored as minutes of the day, so they load as canonical "HH:mm" ranges, one
+ * instance per distinct start and end shared by every room that has it.
+ */
+public final class ScheduleSnapshot {
+
+    private static final int MAGIC = 0x53534E50; // "SSNP"
+    private static final short VERSION = 3; // 2 added the document id, 3 the location
+    private static final int WEEKDAYS = DayOfWeek.FRIDAY.getValue();
+
+    private ScheduleSnapshot() {
+    }
+
+    /**
+     * Write the rooms to a snapshot file, replacing any existing file atomically
+     *
+     * @param path  The snapshot file
+     * @param rooms The room usage documents
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<RoomUsage> rooms) throws IOException {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (RoomUsage room : rooms) {
+            intern(room.getId(), stringIds, strings);
+            intern(room.getBuilding(), stringIds, strings);
+            intern(room.getRoomNumber(), stringIds, strings);
+            intern(room.getRoom_id(), stringIds, strings);
+            intern(room.getSemester(), stringIds, strings);
+            if (room.getCourses() != null) {
+                room.getCourses().forEach(course -> intern(course, stringIds, strings));
+            }
+        }
+
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    throw new IOException("String too long for snapshot: " + string.substring(0, 32) + "...");
+                }
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(rooms.size());
+            for (RoomUsage room : rooms) {
+                out.writeInt(ref(room.getId(), stringIds));
+                out.writeInt(ref(room.getBuilding(), stringIds));
+                out.writeInt(ref(room.getRoomNumber(), stringIds));
+                out.writeInt(ref(room.getRoom_id(), stringIds));
+                out.writeInt(ref(room.getSemester(), stringIds));
+
+                List<String> courses = room.getCourses();
+                out.writeShort(courses == null ? -1 : courses.size());
+                if (courses != null) {
+                    for (String course : courses) {
+                        out.writeInt(ref(course, stringIds));
+                    }
+                }
+
+                RoomUsage.Usage usage = room.getUsage();
+                out.writeByte(usage == null ? 0 : 1);
+                if (usage != null) {
+                    for (int day = 1; day <= WEEKDAYS; day++) {
+                        writeRanges(out, usage.getTimeRangesForDay(DayOfWeek.of(day).name()));
+                    }
+                }
+
+                RoomUsage.Location location = room.getLocation();
+                out.writeByte(location == null ? 0 : 1);
+                if (location != null) {
+                    out.writeDouble(location.getLatitude());
+                    out.writeDouble(location.getLongitude());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot file through a read-only memory mapping
+     *
+     * @param path The snapshot file
+     * @return The room usage documents stored in the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static List<RoomUsage> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    private static List<RoomUsage> read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("Not a room schedule snapshot or unsupported version");
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int roomCount = buffer.getInt();
+            List<RoomUsage> rooms = new ArrayList<>(roomCount);
+            Map<Integer, RoomUsage.TimeRange> ranges = new HashMap<>();
+            for (int i = 0; i < roomCount; i++) {
+                RoomUsage room = new RoomUsage();
+                room.setId(string(strings, buffer.getInt()));
+                room.setBuilding(string(strings, buffer.getInt()));
+                room.setRoomNumber(string(strings, buffer.getInt()));
+                room.setRoom_id(string(strings, buffer.getInt()));
+                room.setSemester(string(strings, buffer.getInt()));
+
+                int courseCount = buffer.getShort();
+                if (courseCount >= 0) {
+                    List<String> courses = new ArrayList<>(courseCount);
+                    for (int c = 0; c < courseCount; c++) {
+                        courses.add(string(strings, buffer.getInt()));
+                    }
+                    room.setCourses(courses);
+                }
+
+                if (buffer.get() != 0) {
+                    RoomUsage.Usage usage = new RoomUsage.Usage();
+                    usage.setMonday(readRanges(buffer, ranges));
+                    usage.setTuesday(readRanges(buffer, ranges));
+                    usage.setWednesday(readRanges(buffer, ranges));
+                    usage.setThursday(readRanges(buffer, ranges));
+                    usage.setFriday(readRanges(buffer, ranges));
+                    room.setUsage(usage);
+                }
+
+                if (buffer.get() != 0) {
+                    RoomUsage.Location location = new RoomUsage.Location();
+                    location.setLatitude(buffer.getDouble());
+                    location.setLongitude(buffer.getDouble());
+                    room.setLocation(location);
+                }
+                rooms.add(room);
+            }
+            return rooms;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt room schedule snapshot", e);
+        }
+    }
+
+    private static void writeRanges(DataOutputStream out, List<RoomUsage.TimeRange> ranges) throws IOException {
+        out.writeShort(ranges == null ? -1 : ranges.size());
+        if (ranges != null) {
+            for (RoomUsage.TimeRange range : ranges) {
+                out.writeShort(DaySchedule.toMinuteOfDay(range.getStart()));
+                out.writeShort(DaySchedule.toMinuteOfDay(range.getEnd()));
+            }
+        }
+    }
+
+    /**
+     * @param shared Ranges read so far by packed start and end minute; the index
+     *               never modifies a range, so rooms can share them
+     */
+    private static List<RoomUsage.TimeRange> readRanges(ByteBuffer buffer,
+            Map<Integer, RoomUsage.TimeRange> shared) {
+        int count = buffer.getShort();
+        if (count < 0) {
+            return null;
+        }
+        List<RoomUsage.TimeRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = buffer.getShort();
+            int end = buffer.getShort();
+            ranges.add(shared.computeIfAbsent(start << 16 | end, key -> {
+                RoomUsage.TimeRange range = new RoomUsage.TimeRange();
+                range.setStart(DaySchedule.formatMinuteOfDay(start));
+                range.setEnd(DaySchedule.formatMinuteOfDay(end));
+                return range;
+            }));
+        }
+        return ranges;
+    }
+
+    private static void intern(String value, Map<String, Integer> ids, List<String> strings) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static int ref(String value, Map<String, Integer> ids) {
+        return value == null ? -1 : ids.get(value);
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+}
@@ -0,0 +1,141 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The configured semesters and which one the current thread works on. Requests
+ * may pick a term with the {@code term} parameter; everything else (background
+ * loads, the status stream, requests without the parameter) uses the active
+ * term, the one with the latest start date that is not in the future.
+ * <p>
+ * {@link com.uiuc.studyspaces.model.RoomUsage} resolves its collection through
+ * {@link #getCollection()}, so repository calls read the selected term.
+ */
+@Component("semesterTerms")
+public class SemesterTerms {
+
+    private final Map<String, StudySpacesProperties.Term> terms = new LinkedHashMap<>();
+    private final Clock clock;
+    private final ThreadLocal<String> selected = new ThreadLocal<>();
+
+    @Autowired
+    public SemesterTerms(StudySpacesProperties properties) {
+        this(properties, Clock.system(ZoneId.of(properties.getStream().getTimeZone())));
+    }
+
+    SemesterTerms(StudySpacesProperties properties, Clock clock) {
+        this.clock = clock;
+        for (StudySpacesProperties.Term term : properties.getTerms()) {
+            if (term.getName() == null || term.getCollection() == null) {
+                throw new IllegalArgumentException("Every term requires a name and a collection");
+            }
+            terms.put(term.getName(), term);
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("At least one term must be configured");
+        }
+    }
+
+    /**
+     * @return Names of every configured term, in configuration order
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(terms.keySet());
+    }
+
+    public boolean contains(String term) {
+        return terms.containsKey(term);
+    }
+
+    /**
+     * @return The term served by default today: the latest term that has started,
+     *         or the first configured term if none has a start date in the past
+     */
+    public String getActiveTerm() {
+        LocalDate today = LocalDate.now(clock);
+        StudySpacesProperties.Term active = null;
+        for (StudySpacesProperties.Term term : terms.values()) {
+            if (term.getStart() != null && !term.getStart().isAfter(today)
+                    && (active == null || term.getStart().isAfter(active.getStart()))) {
+                active = term;
+            }
+        }
+        return active != null ? active.getName() : terms.keySet().iterator().next();
+    }
+
+    /**
+     * @return The term selected on the current thread, or the active term
+     */
+    public String getCurrentTerm() {
+        String term = selected.get();
+        return term != null ? term : getActiveTerm();
+    }
+
+    /**
+     * @return Collection of the current term
+     */
+    public String getCollection() {
+        return getCollection(getCurrentTerm());
+    }
+
+    /**
+     * @param term A configured term name
+     * @return Collection of the term
+     */
+    public String getCollection(String term) {
+        StudySpacesProperties.Term config = terms.get(term);
+        if (config == null) {
+            throw new IllegalArgumentException("Unknown term: " + term);
+        }
+        return config.getCollection();
+    }
+
+    /**
+     * Select a term for the current thread until {@link #clear()}
+     *
+     * @param term A configured term name
+     */
+    public void select(String term) {
+        if (!contains(term)) {
+            throw new IllegalArgumentException("Unknown term: " + term);
+        }
+        selected.set(term);
+    }
+
+    public void clear() {
+        selected.remove();
+    }
+
+    /**
+     * Run a task with a term selected on the current thread, restoring the
+     * previous selection afterwards
+     *
+     * @param term A configured term name
+     * @param task The task
+     * @return The task's result
+     */
+    public <T> T callInTerm(String term, Supplier<T> task) {
+        String previous = selected.get();
+        select(term);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                selected.remove();
+            } else {
+                selected.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.uiuc.studyspaces.config;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application against an in-process Mongo stand-in and checks the
+ * indexes it creates once it is ready
+ */
+@SpringBootTest(properties = { "studyspaces.reload.mode=off", "spring.main.banner-mode=off" })
+class MongoIndexConfigTest {
+
+    private static final MongoServer server = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress address = server.bind();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://127.0.0.1:" + address.getPort() + "/studyspaces");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.shutdownNow();
+    }
+
+    @Test
+    void testBuildingRoomIndexExistsAfterStartup() throws InterruptedException {
+        // Indexes are created on a background thread after ApplicationReadyEvent
+        Optional<IndexInfo> index = Optional.empty();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (index.isEmpty() && System.nanoTime() < deadline) {
+            index = mongoTemplate.indexOps("room_usage_fall2025").getIndexInfo().stream()
+                    .filter(info -> info.getName().equals("building_room"))
+                    .findFirst();
+            if (index.isEmpty()) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertTrue(index.isPresent(), "building_room index was not created");
+        assertEquals(List.of("building", "room"), index.get().getIndexFields().stream()
+                .map(IndexField::getKey)
+                .toList());
+        assertTrue(index.get().getIndexFields().stream()
+                .allMatch(field -> field.getDirection() == Sort.Direction.ASC));
+        assertFalse(index.get().isUnique());
+    }
+}
@@ -0,0 +1,97 @@
+package com.uiuc.studyspaces.controller;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.service.ReactiveRoomUsageService;
+import com.uiuc.studyspaces.service.RoomStatusBroadcaster;
+import com.uiuc.studyspaces.service.RoomUsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRoomUsageControllerTest {
+
+    @Mock
+    private RoomUsageService service;
+
+    @Mock
+    private ReactiveRoomUsageService reactiveService;
+
+    @Mock
+    private RoomStatusBroadcaster broadcaster;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RoomUsageController(service, broadcaster, new StudySpacesProperties()),
+                        new ReactiveRoomUsageController(reactiveService))
+                .build();
+    }
+
+    @Test
+    void testStreamAllRoomsInBuilding_OneRoomPerLine() throws Exception {
+        when(reactiveService.getAllRoomsWithStatus("Davenport Hall", "Monday", "13:00")).thenReturn(Flux.just(
+                new RoomStatusResponse("101", "OPEN", null, null, null, null),
+                new RoomStatusResponse("102", "OCCUPIED", null, "14:00", null, null)));
+
+        MvcResult result = mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Monday")
+                .param("time", "13:00")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(content().string(matchesPattern(
+                        "\\{\"roomNumber\":\"101\".*\\}\n\\{\"roomNumber\":\"102\".*\\}\n")));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void testStreamAllRoomsInBuilding_InvalidDayBeforeStreaming() throws Exception {
+        when(reactiveService.getAllRoomsWithStatus("Davenport Hall", "Someday", "13:00"))
+                .thenThrow(new IllegalArgumentException("Invalid day: Someday"));
+
+        mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Someday")
+                .param("time", "13:00")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid day: Someday"));
+    }
+
+    @Test
+    void testGetAllRoomsInBuilding_JsonUnlessNdjsonRequested() throws Exception {
+        when(service.getAllRoomsWithStatus("Davenport Hall", "Monday", "13:00")).thenReturn(Arrays.asList());
+
+        mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Monday")
+                .param("time", "13:00")
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        verifyNoInteractions(reactiveService);
+    }
+}
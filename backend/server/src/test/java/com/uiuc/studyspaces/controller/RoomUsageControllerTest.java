@@ -0,0 +1,153 @@
+package com.uiuc.studyspaces.controller;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.repository.RoomUsageRepository;
+import com.uiuc.studyspaces.service.CampusExecutor;
+import com.uiuc.studyspaces.service.RoomStatusBroadcaster;
+import com.uiuc.studyspaces.service.RoomUsageMetrics;
+import com.uiuc.studyspaces.service.RoomUsageService;
+import com.uiuc.studyspaces.service.SemesterTerms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomUsageControllerTest {
+
+    @Mock
+    private RoomUsageService service;
+
+    @Mock
+    private RoomStatusBroadcaster broadcaster;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RoomUsageController(service, broadcaster, new StudySpacesProperties()))
+                .build();
+    }
+
+    @Test
+    void testGetAllBuildings_EtagFromDatasetVersion() throws Exception {
+        when(service.getDatasetVersion()).thenReturn("abc123");
+        when(service.getAllBuildings()).thenReturn(Arrays.asList("Altgeld Hall", "Davenport Hall"));
+
+        mockMvc.perform(get("/api/buildings"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(jsonPath("$[1]").value("Davenport Hall"));
+
+        // A matching validator is answered without computing the body again
+        mockMvc.perform(get("/api/buildings").header("If-None-Match", "W/\"old\", \"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+
+        verify(service, times(1)).getAllBuildings();
+    }
+
+    @Test
+    void testGetAllRoomsInBuilding_NoValidatorsBeforeIndexLoads() throws Exception {
+        when(service.getBuildingVersion("Davenport Hall")).thenReturn(null);
+        when(service.getAllRoomsWithStatus("Davenport Hall", "Monday", "13:00"))
+                .thenReturn(Arrays.asList());
+
+        mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Monday")
+                .param("time", "13:00")
+                .header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Cache-Control"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    @Test
+    void testGetBuildingHeatmap_NotModifiedWithoutComputingBody() throws Exception {
+        when(service.isBuildingIndexed("Davenport Hall")).thenReturn(true);
+        when(service.getBuildingVersion("Davenport Hall")).thenReturn("v1");
+
+        mockMvc.perform(get("/api/buildings/Davenport Hall/heatmap").header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""));
+
+        verify(service, never()).getHeatmap(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetBuildingHeatmap_UnknownBuildingNotFoundOnceIndexLoads() throws Exception {
+        // Arrange: a real service with the index loaded, unknown buildings get the dataset version
+        StudySpacesProperties properties = new StudySpacesProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CampusExecutor campusExecutor = new CampusExecutor(properties, registry);
+        RoomUsageService indexedService = new RoomUsageService(mock(RoomUsageRepository.class),
+                mock(MongoTemplate.class), properties, new RoomUsageMetrics(registry, properties),
+                new SemesterTerms(properties), campusExecutor);
+        RoomUsage room = new RoomUsage();
+        room.setBuilding("Davenport Hall");
+        room.setRoomNumber("101");
+        indexedService.loadIndex(List.of(room));
+        MockMvc indexedMockMvc = MockMvcBuilders
+                .standaloneSetup(new RoomUsageController(indexedService, broadcaster, properties))
+                .build();
+
+        try {
+            // Act & Assert
+            indexedMockMvc.perform(get("/api/buildings/Unknown Building/heatmap"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(header().doesNotExist("ETag"));
+            indexedMockMvc.perform(get("/api/buildings/Unknown Building/heatmap").header("If-None-Match", "*"))
+                    .andExpect(status().isNotFound());
+            indexedMockMvc.perform(get("/api/buildings/Davenport Hall/heatmap"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag",
+                            "\"" + indexedService.getBuildingVersion("Davenport Hall") + "\""));
+        } finally {
+            campusExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testGetAllRoomsInBuilding_InvalidArgumentsRejectedBeforeConditionalCheck() throws Exception {
+        lenient().when(service.getBuildingVersion("Davenport Hall")).thenReturn("v1");
+        doThrow(new IllegalArgumentException("Invalid day: Sunday"))
+                .when(service).validateQuery("Sunday", "13:00", null);
+
+        mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Sunday")
+                .param("time", "13:00")
+                .header("If-None-Match", "\"v1\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid day: Sunday"));
+    }
+
+    @Test
+    void testGetAllRoomsInBuilding_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/buildings/Davenport Hall/rooms")
+                .param("day", "Monday")
+                .param("time", "13:00")
+                .param("format", "columns"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid format: columns"));
+        verify(service, never()).getAllRoomsWithStatus(anyString(), anyString(), anyString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.uiuc.studyspaces.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.uiuc.studyspaces.model.RoomUsage;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomUsageRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private RoomUsageRepositoryImpl repository;
+
+    @Test
+    void testFindDayByBuilding_ProjectsOneDay() {
+        // Act
+        repository.findDayByBuilding("Test Building", DayOfWeek.WEDNESDAY);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(RoomUsage.class));
+        assertEquals(new Document("building", "Test Building"), query.getValue().getQueryObject());
+        assertEquals(new Document("building", 1).append("room", 1).append("usage.Wednesday", 1),
+                query.getValue().getFieldsObject());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findDayByBuilding("Test Building", DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void testDayByBuildingQuery_ProjectionAgainstMongo() {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        try (MongoClient client = MongoClients.create("mongodb://127.0.0.1:" + address.getPort())) {
+            // Arrange
+            MongoTemplate template = new MongoTemplate(client, "studyspaces");
+            Document usage = new Document("Monday", List.of(new Document("start", "09:00").append("end", "10:50")))
+                    .append("Wednesday", List.of(new Document("start", "13:00").append("end", "13:50")));
+            template.insert(new Document("building", "Test Building").append("room", "101")
+                    .append("room_id", "Test Building 101").append("semester", "fall2025")
+                    .append("courses", List.of("CS 101")).append("usage", usage), "rooms");
+            template.insert(new Document("building", "Other Building").append("room", "201"), "rooms");
+
+            // Act
+            List<Document> rooms = template.find(
+                    RoomUsageRepositoryImpl.dayByBuildingQuery("Test Building", DayOfWeek.WEDNESDAY),
+                    Document.class, "rooms");
+            RoomUsage mapped = template.findOne(
+                    RoomUsageRepositoryImpl.dayByBuildingQuery("Test Building", DayOfWeek.WEDNESDAY),
+                    RoomUsage.class, "rooms");
+
+            // Assert: only the day's usage is read, besides the id Mongo always returns
+            assertEquals(1, rooms.size());
+            assertEquals(Set.of("_id", "building", "room", "usage"), rooms.get(0).keySet());
+            assertEquals(Set.of("Wednesday"), rooms.get(0).get("usage", Document.class).keySet());
+            assertEquals("101", mapped.getRoomNumber());
+            assertEquals("13:00", mapped.getUsage().getWednesday().get(0).getStart());
+            assertNull(mapped.getUsage().getMonday());
+            assertNull(mapped.getCourses());
+        } finally {
+            server.shutdownNow();
+        }
+    }
+}
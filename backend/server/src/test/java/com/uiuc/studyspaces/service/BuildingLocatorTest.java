@@ -0,0 +1,65 @@
+package com.uiuc.studyspaces.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildingLocatorTest {
+
+    @Test
+    void testNearest_MatchesSortingEveryBuilding() {
+        // Arrange: buildings scattered over a campus-sized area
+        Random random = new Random(42);
+        List<BuildingLocator.Location> locations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            locations.add(new BuildingLocator.Location("Building " + i,
+                    40.10 + random.nextDouble() * 0.02, -88.24 + random.nextDouble() * 0.03));
+        }
+        BuildingLocator locator = new BuildingLocator(locations);
+
+        for (int query = 0; query < 20; query++) {
+            double latitude = 40.09 + random.nextDouble() * 0.04;
+            double longitude = -88.25 + random.nextDouble() * 0.05;
+            List<BuildingLocator.Neighbor> expected = new ArrayList<>();
+            Iterator<BuildingLocator.Neighbor> all = locator.nearest(latitude, longitude);
+            all.forEachRemaining(expected::add);
+            expected.sort(Comparator.comparingDouble(BuildingLocator.Neighbor::distanceMeters));
+
+            // Act
+            Iterator<BuildingLocator.Neighbor> nearest = locator.nearest(latitude, longitude);
+            List<String> firstTen = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                firstTen.add(nearest.next().building());
+            }
+
+            // Assert
+            assertEquals(expected.stream().limit(10).map(BuildingLocator.Neighbor::building)
+                    .collect(Collectors.toList()), firstTen);
+            assertEquals(200, expected.size());
+        }
+    }
+
+    @Test
+    void testNearest_DistanceInMeters() {
+        BuildingLocator locator = new BuildingLocator(List.of(
+                new BuildingLocator.Location("North", 40.11, -88.22),
+                new BuildingLocator.Location("South", 40.10, -88.22)));
+
+        BuildingLocator.Neighbor first = locator.nearest(40.10, -88.22).next();
+
+        assertEquals("South", first.building());
+        assertEquals(0, first.distanceMeters(), 1e-6);
+        Iterator<BuildingLocator.Neighbor> nearest = locator.nearest(40.10, -88.22);
+        nearest.next();
+        assertEquals(1112, nearest.next().distanceMeters(), 1);
+        assertFalse(nearest.hasNext());
+        assertFalse(new BuildingLocator(List.of()).nearest(40, -88).hasNext());
+    }
+}
@@ -0,0 +1,66 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampusExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CampusExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testMapBuildings_SplitsLargeJobsAcrossThePool() {
+        // Arrange: 100 buildings of 50 rooms, at most 100 rooms per task
+        executor = new CampusExecutor(properties(4, 1000, 100), meterRegistry);
+        List<String> buildings = IntStream.range(0, 100).mapToObj(i -> "Building " + i)
+                .collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<String> results = executor.mapBuildings("test", buildings, building -> 50, building -> {
+            threads.add(Thread.currentThread().getName());
+            return building.toUpperCase();
+        });
+
+        // Assert: results keep the building order and ran on pool threads only
+        assertEquals(buildings.stream().map(String::toUpperCase).collect(Collectors.toList()), results);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("campus-worker-")), threads::toString);
+        // Halving stops at 2 buildings (100 rooms) or fewer, so at least 50 tasks
+        assertTrue(meterRegistry.get("studyspaces.campus.tasks").tag("task", "test").timer().count() >= 50);
+        assertEquals(4.0, meterRegistry.get("executor.parallelism").tag("name", "campus").gauge().value());
+    }
+
+    @Test
+    void testMapBuildings_SmallJobsRunOnTheCallingThread() {
+        executor = new CampusExecutor(properties(4, 1000, 100), meterRegistry);
+        String caller = Thread.currentThread().getName();
+
+        List<String> threads = executor.mapBuildings("test", List.of("A", "B"), building -> 10,
+                building -> Thread.currentThread().getName());
+
+        assertEquals(List.of(caller, caller), threads);
+    }
+
+    private static StudySpacesProperties properties(int parallelism, int minRooms, int maxRoomsPerTask) {
+        StudySpacesProperties properties = new StudySpacesProperties();
+        properties.getParallel().setParallelism(parallelism);
+        properties.getParallel().setMinRooms(minRooms);
+        properties.getParallel().setMaxRoomsPerTask(maxRoomsPerTask);
+        return properties;
+    }
+}
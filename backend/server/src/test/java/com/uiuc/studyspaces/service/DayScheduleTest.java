@@ -0,0 +1,89 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayScheduleTest {
+
+    private static final OpeningHours HOURS = OpeningHours.parse("07:00", "23:00");
+
+    private static RoomUsage.TimeRange range(String start, String end) {
+        RoomUsage.TimeRange range = new RoomUsage.TimeRange();
+        range.setStart(start);
+        range.setEnd(end);
+        return range;
+    }
+
+    @Test
+    void testRangeSpanningWordBoundaries() {
+        // 00:30-02:10 covers minutes 30-129, crossing the 64 and 128 bit boundaries
+        DaySchedule schedule = DaySchedule.of(Arrays.asList(range("00:30", "02:10")), HOURS);
+
+        assertFalse(schedule.isOccupiedAt(29));
+        assertTrue(schedule.isOccupiedAt(30));
+        assertTrue(schedule.isOccupiedAt(63));
+        assertTrue(schedule.isOccupiedAt(64));
+        assertTrue(schedule.isOccupiedAt(128));
+        assertTrue(schedule.isOccupiedAt(129));
+        assertFalse(schedule.isOccupiedAt(130));
+
+        assertEquals(30, schedule.nextOccupiedMinute(0));
+        assertEquals(130, schedule.nextFreeMinute(30));
+        assertEquals(-1, schedule.nextOccupiedMinute(130));
+    }
+
+    @Test
+    void testAdjacentAndOverlappingRanges() {
+        DaySchedule schedule = DaySchedule.of(Arrays.asList(
+                range("10:00", "10:50"),
+                range("10:50", "11:40"),
+                range("11:00", "12:00"),
+                range("23:00", "23:59")), HOURS);
+
+        assertEquals(DaySchedule.toMinuteOfDay("12:00"), schedule.nextFreeMinute(DaySchedule.toMinuteOfDay("10:00")));
+        assertEquals(DaySchedule.toMinuteOfDay("23:00"), schedule.nextOccupiedMinute(DaySchedule.toMinuteOfDay("12:00")));
+        assertTrue(schedule.isOccupiedAt(DaySchedule.toMinuteOfDay("23:58")));
+        assertFalse(schedule.isOccupiedAt(DaySchedule.toMinuteOfDay("23:59")));
+        assertEquals(DaySchedule.MINUTES_PER_DAY - 1, schedule.nextFreeMinute(DaySchedule.toMinuteOfDay("23:00")));
+    }
+
+    @Test
+    void testEmptyDay() {
+        DaySchedule schedule = DaySchedule.of(null, HOURS);
+
+        assertTrue(schedule.isEmpty());
+        assertFalse(schedule.isOccupiedAt(0));
+        assertEquals(-1, schedule.nextOccupiedMinute(0));
+        assertEquals(0, schedule.nextFreeMinute(0));
+        assertEquals("07:05", DaySchedule.formatMinuteOfDay(425));
+    }
+
+    @Test
+    void testFreeGapsClippedToBuildingHours() {
+        DaySchedule schedule = DaySchedule.of(Arrays.asList(
+                range("06:00", "08:00"),
+                range("12:00", "13:00"),
+                range("12:30", "14:00")), HOURS);
+
+        // Gaps over the whole day are 00:00-06:00, 08:00-12:00 and 14:00-24:00
+        assertEquals(DaySchedule.toMinuteOfDay("12:00"), schedule.freeUntil(DaySchedule.toMinuteOfDay("09:15")));
+        assertEquals(DaySchedule.MINUTES_PER_DAY, schedule.freeUntil(DaySchedule.toMinuteOfDay("14:00")));
+        assertEquals(-1, schedule.freeUntil(DaySchedule.toMinuteOfDay("13:30")));
+        assertEquals(DaySchedule.toMinuteOfDay("14:00"), schedule.nextFreeAfter(DaySchedule.toMinuteOfDay("12:00")));
+        assertEquals(-1, schedule.nextFreeAfter(DaySchedule.toMinuteOfDay("14:00")));
+
+        // Only the parts inside 07:00-23:00 are reported
+        assertEquals(2, schedule.getFreeRanges().size());
+        assertEquals("08:00", schedule.getFreeRanges().get(0).getStart());
+        assertEquals("12:00", schedule.getFreeRanges().get(0).getEnd());
+        assertEquals("14:00", schedule.getFreeRanges().get(1).getStart());
+        assertEquals("23:00", schedule.getFreeRanges().get(1).getEnd());
+
+        assertTrue(schedule.isFreeBetween(DaySchedule.toMinuteOfDay("08:00"), DaySchedule.toMinuteOfDay("12:00")));
+        assertFalse(schedule.isFreeBetween(DaySchedule.toMinuteOfDay("08:00"), DaySchedule.toMinuteOfDay("12:01")));
+    }
+}
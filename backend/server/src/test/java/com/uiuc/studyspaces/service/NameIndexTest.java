@@ -0,0 +1,79 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.SearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private NameIndex names;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, List<String>> rooms = new LinkedHashMap<>();
+        rooms.put("Altgeld Hall", Arrays.asList("314", "345"));
+        rooms.put("Siebel Center for Computer Science", Arrays.asList("1105", "1131", "0216"));
+        rooms.put("Siebel Center for Design", Arrays.asList("1001"));
+        names = new NameIndex(rooms);
+    }
+
+    @Test
+    void testCanonical() {
+        assertEquals("siebel center for computer science",
+                NameIndex.canonical("  SIEBEL   Center for Computer-Science "));
+        assertEquals("cafe 1", NameIndex.canonical("Café #1"));
+        assertEquals("", NameIndex.canonical(null));
+    }
+
+    @Test
+    void testSearch_WordPrefixes() {
+        // Every query word has to start a word of the name
+        List<String> results = names.search("sieb cen 11", 10).stream()
+                .map(NameIndexTest::describe)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("Siebel Center for Computer Science 1105",
+                "Siebel Center for Computer Science 1131"), results);
+
+        // Buildings come before their rooms
+        List<SearchResult> siebel = names.search("Siebel", 3);
+        assertEquals(3, siebel.size());
+        assertEquals(NameIndex.BUILDING, siebel.get(0).getType());
+        assertEquals("Siebel Center for Computer Science", siebel.get(0).getBuilding());
+        assertEquals(NameIndex.BUILDING, siebel.get(1).getType());
+        assertEquals("Siebel Center for Design", siebel.get(1).getBuilding());
+        assertEquals(NameIndex.ROOM, siebel.get(2).getType());
+
+        assertTrue(names.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_SimilarBuildingsWhenNoPrefixMatches() {
+        List<SearchResult> results = names.search("altgled hall", 10);
+        assertEquals(1, results.size());
+        assertEquals("Altgeld Hall", results.get(0).getBuilding());
+        assertNull(results.get(0).getRoomNumber());
+    }
+
+    @Test
+    void testResolveBuilding() {
+        assertEquals("Altgeld Hall", names.resolveBuilding("altgeld  HALL"));
+        assertEquals("Siebel Center for Computer Science",
+                names.resolveBuilding("Seibel Center for Computer Science"));
+        // Too far from every building to pick one
+        assertNull(names.resolveBuilding("Siebel"));
+        assertNull(names.resolveBuilding("Foellinger Auditorium"));
+    }
+
+    private static String describe(SearchResult result) {
+        return result.getRoomNumber() == null ? result.getBuilding()
+                : result.getBuilding() + " " + result.getRoomNumber();
+    }
+}
@@ -0,0 +1,111 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.FreeRoomResponse;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.repository.RoomUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRoomUsageServiceTest {
+
+    @Mock
+    private RoomUsageRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RoomUsageService service;
+    private ReactiveRoomUsageService reactiveService;
+
+    private RoomUsage freeRoom;
+    private RoomUsage busyRoom;
+
+    @BeforeEach
+    void setUp() {
+        StudySpacesProperties properties = new StudySpacesProperties();
+        RoomUsageMetrics metrics = new RoomUsageMetrics(meterRegistry, properties);
+        SemesterTerms terms = new SemesterTerms(properties);
+        service = new RoomUsageService(repository, mongoTemplate, properties, metrics, terms,
+                new CampusExecutor(properties, meterRegistry));
+        reactiveService = new ReactiveRoomUsageService(service, reactiveMongoTemplate, metrics, terms);
+
+        freeRoom = new RoomUsage();
+        freeRoom.setBuilding("Test Building");
+        freeRoom.setRoomNumber("101");
+
+        RoomUsage.TimeRange morning = new RoomUsage.TimeRange();
+        morning.setStart("09:00");
+        morning.setEnd("10:00");
+        RoomUsage.Usage usage = new RoomUsage.Usage();
+        usage.setMonday(Arrays.asList(morning));
+        busyRoom = new RoomUsage();
+        busyRoom.setBuilding("Test Building");
+        busyRoom.setRoomNumber("102");
+        busyRoom.setUsage(usage);
+    }
+
+    @Test
+    void testGetAllRoomsWithStatus_MatchesBlockingQuery() {
+        service.loadIndex(Arrays.asList(freeRoom, busyRoom));
+
+        List<RoomStatusResponse> streamed = reactiveService
+                .getAllRoomsWithStatus("Test Building", "Monday", "09:30")
+                .collectList().block();
+
+        List<RoomStatusResponse> blocking = service.getAllRoomsWithStatus("Test Building", "Monday", "09:30");
+        assertEquals(blocking.size(), streamed.size());
+        for (int i = 0; i < blocking.size(); i++) {
+            assertEquals(blocking.get(i).getRoomNumber(), streamed.get(i).getRoomNumber());
+            assertEquals(blocking.get(i).getStatus(), streamed.get(i).getStatus());
+            assertEquals(blocking.get(i).getAvailableFrom(), streamed.get(i).getAvailableFrom());
+        }
+        assertEquals("10:00", streamed.get(1).getAvailableFrom());
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    void testGetFreeRoomsOnCampus_StreamsFromMongoBeforeIndexLoads() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(RoomUsage.class), eq("room_usage_fall2025")))
+                .thenReturn(Flux.just(freeRoom, busyRoom));
+
+        List<FreeRoomResponse> freeRooms = reactiveService.getFreeRoomsOnCampus("Monday", "09:30", null)
+                .collectList().block();
+
+        assertEquals(Arrays.asList("101"), freeRooms.stream()
+                .map(FreeRoomResponse::getRoomNumber)
+                .collect(Collectors.toList()));
+        assertEquals(1, meterRegistry.get("studyspaces.query").tag("query", "campus").timer().count());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGetAllRoomsWithStatus_InvalidDayRejectedBeforeStreaming() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reactiveService.getAllRoomsWithStatus("Test Building", "Saturday", "09:30"));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+}
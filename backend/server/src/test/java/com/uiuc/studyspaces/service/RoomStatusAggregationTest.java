@@ -0,0 +1,147 @@
+package com.uiuc.studyspaces.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import com.uiuc.studyspaces.model.RoomUsage;
+import com.uiuc.studyspaces.repository.RoomUsageRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the status aggregation on an in-process Mongo stand-in and checks that
+ * every row matches what the in-memory index answers for the same rooms
+ */
+class RoomStatusAggregationTest {
+
+    private static final String COLLECTION = "room_usage";
+    private static final String BUILDING = "Test Building";
+
+    private static final List<String> TIMES = List.of("00:00", "08:00", "09:00", "09:49", "09:50", "10:15",
+            "10:45", "10:50", "10:59", "11:00", "12:00", "13:00", "14:30", "23:00", "23:59");
+
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate template;
+    private static CampusExecutor campusExecutor;
+    private static RoomUsageService service;
+
+    @BeforeAll
+    static void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://127.0.0.1:" + address.getPort());
+        template = new MongoTemplate(client, "studyspaces");
+
+        // Overlapping ranges out of start order, busy until 12:00 from 09:00
+        template.insert(room("101", new Document("Monday", List.of(
+                range("10:45", "12:00"), range("14:00", "15:00"), range("10:00", "11:00"), range("09:00", "10:30")))),
+                COLLECTION);
+        // Adjacent ranges that form one block from 09:00 to 10:50, then a gap
+        template.insert(room("102", new Document("Monday", List.of(
+                range("09:00", "09:50"), range("09:50", "10:50"), range("11:00", "12:00")))), COLLECTION);
+        // Used on other days only
+        template.insert(room("103", new Document("Tuesday", List.of(range("09:00", "10:00")))), COLLECTION);
+        // An empty day and a room without usage at all
+        template.insert(room("104", new Document("Monday", List.of())), COLLECTION);
+        template.insert(new Document("building", BUILDING).append("room", "105"), COLLECTION);
+        // A zero-length range that occupies no minute, and a class running into the last minute
+        template.insert(room("106", new Document("Monday", List.of(
+                range("13:00", "13:00"), range("22:00", "23:59"), range("08:00", "09:00")))), COLLECTION);
+        template.insert(new Document("building", "Other Building").append("room", "201")
+                .append("usage", new Document("Monday", List.of(range("09:00", "10:00")))), COLLECTION);
+
+        StudySpacesProperties properties = new StudySpacesProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        campusExecutor = new CampusExecutor(properties, registry);
+        service = new RoomUsageService(mock(RoomUsageRepository.class), template, properties,
+                new RoomUsageMetrics(registry, properties), new SemesterTerms(properties), campusExecutor);
+        service.loadIndex(template.findAll(RoomUsage.class, COLLECTION));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        campusExecutor.shutdown();
+        client.close();
+        server.shutdownNow();
+    }
+
+    private static Document room(String number, Document usage) {
+        return new Document("building", BUILDING).append("room", number).append("usage", usage);
+    }
+
+    private static Document range(String start, String end) {
+        return new Document("start", start).append("end", end);
+    }
+
+    private static String describe(RoomStatusResponse status) {
+        return String.join(" ", status.getRoomNumber(), status.getStatus(),
+                String.valueOf(status.getAvailableUntil()), String.valueOf(status.getAvailableFrom()),
+                ranges(status.getOccupiedRanges()), ranges(status.getFreeRanges()));
+    }
+
+    private static String ranges(List<RoomUsage.TimeRange> ranges) {
+        return ranges == null ? "null"
+                : ranges.stream().map(range -> range.getStart() + "-" + range.getEnd())
+                        .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private List<RoomStatusResponse> aggregate(String time) {
+        List<RoomStatusResponse> statuses = template.aggregate(
+                RoomStatusAggregation.pipeline(BUILDING, DayOfWeek.MONDAY, time), COLLECTION,
+                RoomStatusResponse.class).getMappedResults();
+        statuses.forEach(service::addFreeRanges);
+        return statuses;
+    }
+
+    @Test
+    void testPipelineMatchesIndexThroughoutTheDay() {
+        for (String time : TIMES) {
+            // Act
+            List<String> expected = service.getAllRoomsWithStatus(BUILDING, "Monday", time).stream()
+                    .map(RoomStatusAggregationTest::describe)
+                    .toList();
+            List<String> actual = aggregate(time).stream()
+                    .map(RoomStatusAggregationTest::describe)
+                    .toList();
+
+            // Assert
+            assertEquals(expected, actual, "at " + time);
+        }
+    }
+
+    @Test
+    void testPipelineFollowsOverlappingAndAdjacentRanges() {
+        // Act
+        List<RoomStatusResponse> statuses = aggregate("09:30");
+
+        // Assert: free from the end of the whole block, not the end of the covering range
+        assertEquals(List.of("101", "102", "103", "104", "105", "106"),
+                statuses.stream().map(RoomStatusResponse::getRoomNumber).toList());
+        assertEquals("OCCUPIED", statuses.get(0).getStatus());
+        assertEquals("12:00", statuses.get(0).getAvailableFrom());
+        assertEquals("OCCUPIED", statuses.get(1).getStatus());
+        assertEquals("10:50", statuses.get(1).getAvailableFrom());
+        assertEquals("OPEN", statuses.get(2).getStatus());
+        assertNull(statuses.get(2).getAvailableUntil());
+        assertNull(statuses.get(2).getOccupiedRanges());
+        assertNull(statuses.get(3).getOccupiedRanges());
+        assertEquals("OPEN", statuses.get(5).getStatus());
+        assertEquals("22:00", statuses.get(5).getAvailableUntil());
+    }
+}
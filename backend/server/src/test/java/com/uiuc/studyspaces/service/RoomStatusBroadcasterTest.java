@@ -0,0 +1,168 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomStatusResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RoomStatusBroadcasterTest {
+
+    private static final String BUILDING = "Siebel Center";
+    private static final ZoneId CAMPUS = ZoneId.of("America/Chicago");
+
+    private final RoomUsageService service = mock(RoomUsageService.class);
+    private final SettableClock clock = new SettableClock();
+    private SemesterTerms terms;
+    private RoomStatusBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        // spring2026 is the active term on every date below
+        StudySpacesProperties properties = new StudySpacesProperties();
+        properties.getTerms().get(0).setStart(LocalDate.parse("2025-08-25"));
+        StudySpacesProperties.Term spring = new StudySpacesProperties.Term("spring2026", "room_usage_spring2026");
+        spring.setStart(LocalDate.parse("2026-01-20"));
+        properties.getTerms().add(spring);
+        terms = new SemesterTerms(properties, clock);
+        broadcaster = new RoomStatusBroadcaster(service, terms, properties, clock);
+        when(service.getNextStatusChange(anyString(), any(DayOfWeek.class), anyInt())).thenReturn(-1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    private static RoomStatusResponse status(String room, String status) {
+        return new RoomStatusResponse(room, status, null, null, null, null);
+    }
+
+    @Test
+    void testSubscribeSendsSnapshotAndSleepsUntilNextBoundary() {
+        // Arrange: Monday 10:00, next status change at 10:50
+        clock.set("2026-03-02T10:00:00");
+        when(service.getNextStatusChange(BUILDING, DayOfWeek.MONDAY, 600)).thenReturn(650);
+
+        // Act
+        broadcaster.subscribe(BUILDING);
+
+        // Assert
+        verify(service).getAllRoomsWithStatus(BUILDING, "MONDAY", "10:00");
+        assertEquals(1, broadcaster.getSubscriberCount());
+        long delay = broadcaster.getNextTickDelayMillis();
+        assertTrue(delay > 49 * 60_000 && delay <= 50 * 60_000, "delay " + delay);
+    }
+
+    @Test
+    void testLateTickReportsEveryChangeSinceLastBroadcast() {
+        // Arrange
+        clock.set("2026-03-02T10:00:00");
+        broadcaster.subscribe(BUILDING);
+        when(service.getStatusChanges(BUILDING, DayOfWeek.MONDAY, 600, 652))
+                .thenReturn(List.of(status("1404", "OPEN")));
+        when(service.getNextStatusChange(BUILDING, DayOfWeek.MONDAY, 652)).thenReturn(720);
+
+        // Act: the 10:50 tick fires two and a half minutes late
+        clock.set("2026-03-02T10:52:30");
+        broadcaster.tick();
+
+        // Assert: the changes at 10:50 are not lost, and the next tick is at 12:00
+        verify(service).getStatusChanges(BUILDING, DayOfWeek.MONDAY, 600, 652);
+        long delay = broadcaster.getNextTickDelayMillis();
+        assertTrue(delay > 67 * 60_000 && delay <= 67 * 60_000 + 30_000, "delay " + delay);
+
+        clock.set("2026-03-02T12:00:00");
+        broadcaster.tick();
+        verify(service).getStatusChanges(BUILDING, DayOfWeek.MONDAY, 652, 720);
+    }
+
+    @Test
+    void testTicksStayOnTheSubscriptionTerm() {
+        // Arrange: a request for the inactive fall term
+        clock.set("2026-03-02T10:00:00");
+        List<String> termsQueried = new ArrayList<>();
+        when(service.getAllRoomsWithStatus(BUILDING, "MONDAY", "10:00")).thenAnswer(call -> {
+            termsQueried.add(terms.getCurrentTerm());
+            return List.of();
+        });
+        when(service.getStatusChanges(BUILDING, DayOfWeek.MONDAY, 600, 650)).thenAnswer(call -> {
+            termsQueried.add(terms.getCurrentTerm());
+            return List.of();
+        });
+        terms.select("fall2025");
+        broadcaster.subscribe(BUILDING);
+        terms.clear();
+
+        // Act: ticks run on the scheduler thread, where the active term applies
+        clock.set("2026-03-02T10:50:00");
+        broadcaster.tick();
+
+        // Assert
+        assertEquals(List.of("fall2025", "fall2025"), termsQueried);
+    }
+
+    @Test
+    void testFirstTickOfWeekdaySendsSnapshot() {
+        // Arrange: Friday evening with no more changes that day
+        clock.set("2026-03-06T22:00:00");
+        broadcaster.subscribe(BUILDING);
+        assertTrue(broadcaster.getNextTickDelayMillis() > 119 * 60_000); // midnight
+
+        // Act: nothing is sent over the weekend
+        clock.set("2026-03-07T00:00:00");
+        broadcaster.tick();
+        clock.set("2026-03-08T00:00:00");
+        broadcaster.tick();
+        verify(service, times(1)).getAllRoomsWithStatus(anyString(), anyString(), anyString());
+
+        // Monday starts with a fresh snapshot rather than a diff against Sunday
+        clock.set("2026-03-09T00:00:00");
+        broadcaster.tick();
+
+        // Assert
+        verify(service).getAllRoomsWithStatus(BUILDING, "MONDAY", "00:00");
+        verify(service, never()).getStatusChanges(anyString(), any(DayOfWeek.class), anyInt(), anyInt());
+    }
+
+    /**
+     * A clock in the campus time zone that the test moves by hand
+     */
+    private static final class SettableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void set(String localDateTime) {
+            instant = LocalDateTime.parse(localDateTime).atZone(CAMPUS).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return CAMPUS;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
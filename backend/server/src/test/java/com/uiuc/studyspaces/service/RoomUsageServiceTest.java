@@ -1,18 +1,37 @@
 package com.uiuc.studyspaces.service;
 
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.BatchStatusRequest;
+import com.uiuc.studyspaces.model.BatchStatusResponse;
+import com.uiuc.studyspaces.model.CompactRoomStatusResponse;
+import com.uiuc.studyspaces.model.FreeRoomResponse;
+import com.uiuc.studyspaces.model.HeatmapResponse;
+import com.uiuc.studyspaces.model.NearbyBuildingResponse;
 import com.uiuc.studyspaces.model.RoomUsage;
 import com.uiuc.studyspaces.model.RoomStatusResponse;
 import com.uiuc.studyspaces.repository.RoomUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 
+import java.time.DayOfWeek;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +45,21 @@ class RoomUsageServiceTest {
     @Mock
     private MongoTemplate mongoTemplate;
 
+    @Spy
+    private StudySpacesProperties properties = new StudySpacesProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RoomUsageMetrics metrics = new RoomUsageMetrics(meterRegistry, new StudySpacesProperties());
+
+    @Spy
+    private SemesterTerms terms = new SemesterTerms(new StudySpacesProperties());
+
+    // Splits every campus-wide query into one task per building
+    @Spy
+    private CampusExecutor campusExecutor = new CampusExecutor(parallelProperties(), meterRegistry);
+
     @InjectMocks
     private RoomUsageService service;
 
@@ -76,6 +110,20 @@ class RoomUsageServiceTest {
         testRoom3.setUsage(usage3);
     }
 
+    private static StudySpacesProperties parallelProperties() {
+        StudySpacesProperties properties = new StudySpacesProperties();
+        properties.getParallel().setParallelism(2);
+        properties.getParallel().setMinRooms(0);
+        properties.getParallel().setMaxRoomsPerTask(1);
+        return properties;
+    }
+
+    private void loadIndex(RoomUsage... rooms) {
+        when(repository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(rooms)));
+        assertEquals(rooms.length, service.reloadIndex());
+    }
+
     @Test
     void testGetAllRoomsWithStatus_ValidInput() {
         // Arrange
@@ -83,7 +131,7 @@ class RoomUsageServiceTest {
         String day = "Monday";
         String time = "12:30"; // Between 12:00-13:00, so room 103 should be occupied
 
-        when(repository.findByBuilding(building))
+        when(repository.findDayByBuilding(building, DayOfWeek.MONDAY))
                 .thenReturn(Arrays.asList(testRoom1, testRoom2, testRoom3));
 
         // Act
@@ -125,7 +173,7 @@ class RoomUsageServiceTest {
         assertNotNull(room3Response.getOccupiedRanges());
         assertEquals(2, room3Response.getOccupiedRanges().size());
 
-        verify(repository).findByBuilding(building);
+        verify(repository).findDayByBuilding(building, DayOfWeek.MONDAY);
     }
 
     @Test
@@ -156,6 +204,19 @@ class RoomUsageServiceTest {
         });
     }
 
+    @Test
+    void testValidateQuery_RejectsInvalidArgumentsWithoutQuerying() {
+        IllegalArgumentException invalidTime = assertThrows(IllegalArgumentException.class,
+                () -> service.validateQuery("Monday", "25:00", null));
+        assertEquals("Invalid time: 25:00", invalidTime.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> service.validateQuery("Sunday", "13:00", null));
+        assertThrows(IllegalArgumentException.class, () -> service.validateQuery("Monday", "13:00", -1));
+        assertThrows(IllegalArgumentException.class, () -> service.validateWindow("Monday", "13:00", "12:00", null));
+        assertThrows(IllegalArgumentException.class, () -> service.validateWindow("Monday", "23:30", null, 60));
+        service.validateWindow("Monday", "13:00", null, 60);
+        verifyNoInteractions(repository, mongoTemplate);
+    }
+
     @Test
     void testGetAllRoomsWithStatus_EmptyBuilding() {
         // Arrange
@@ -163,7 +224,7 @@ class RoomUsageServiceTest {
         String day = "Monday";
         String time = "13:30";
 
-        when(repository.findByBuilding(building))
+        when(repository.findDayByBuilding(building, DayOfWeek.MONDAY))
                 .thenReturn(Arrays.asList());
 
         // Act
@@ -173,7 +234,7 @@ class RoomUsageServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(repository).findByBuilding(building);
+        verify(repository).findDayByBuilding(building, DayOfWeek.MONDAY);
     }
 
     @Test
@@ -183,7 +244,7 @@ class RoomUsageServiceTest {
         String day = "Monday";
         String time = "16:30"; // After all occupied times
 
-        when(repository.findByBuilding(building))
+        when(repository.findDayByBuilding(building, DayOfWeek.MONDAY))
                 .thenReturn(Arrays.asList(testRoom2, testRoom3));
 
         // Act
@@ -211,4 +272,487 @@ class RoomUsageServiceTest {
         assertEquals("OPEN", room3Response.getStatus());
         assertNull(room3Response.getAvailableUntil()); // Free for rest of day
     }
+
+    @Test
+    void testGetAllRoomsWithStatus_ServedFromIndexAfterReload() {
+        // Arrange
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act
+        List<RoomStatusResponse> result = service.getAllRoomsWithStatus("Test Building", "Monday", "12:30");
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("OPEN", result.get(0).getStatus());
+        assertEquals("OPEN", result.get(1).getStatus());
+        assertEquals("14:00", result.get(1).getAvailableUntil());
+        assertEquals("OCCUPIED", result.get(2).getStatus());
+
+        // Unknown buildings resolve to an empty list without touching Mongo
+        assertTrue(service.getAllRoomsWithStatus("Unknown", "Monday", "12:30").isEmpty());
+        verify(repository, never()).findByBuilding(anyString());
+
+        assertEquals(2.0, meterRegistry.counter("studyspaces.index.lookups", "result", "hit").count());
+        assertEquals(3.0, meterRegistry.counter("studyspaces.rooms.scanned", "query", "building").count());
+        assertEquals(2, meterRegistry.timer("studyspaces.query", "query", "building").count());
+    }
+
+    @Test
+    void testGetAvailableRooms_OverlappingRangesFromIndex() {
+        // Arrange: 09:00-11:00 overlaps 10:00-10:30, so 10:45 is still occupied
+        RoomUsage.TimeRange longRange = new RoomUsage.TimeRange();
+        longRange.setStart("09:00");
+        longRange.setEnd("11:00");
+        RoomUsage.TimeRange shortRange = new RoomUsage.TimeRange();
+        shortRange.setStart("10:00");
+        shortRange.setEnd("10:30");
+        testRoom2.getUsage().setMonday(Arrays.asList(shortRange, longRange));
+
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act
+        List<RoomUsage> result = service.getAvailableRooms("Test Building", "Monday", "10:45");
+
+        // Assert
+        assertEquals(Arrays.asList(testRoom1, testRoom3), result);
+        assertEquals(Arrays.asList("Test Building"), service.getAllBuildings());
+        assertSame(testRoom3, service.getRoomByName(" Test Building ", "103"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testGetFreeRoomsOnCampus_MinFreeMinutes() {
+        // Arrange
+        RoomUsage otherBuildingRoom = new RoomUsage();
+        otherBuildingRoom.setBuilding("Another Building");
+        otherBuildingRoom.setRoomNumber("201");
+        otherBuildingRoom.setUsage(null);
+
+        loadIndex(testRoom1, testRoom2, testRoom3, otherBuildingRoom);
+
+        // Act: at 13:30 room 102 is free until 14:00, room 103 until 15:00
+        List<FreeRoomResponse> anyDuration = service.getFreeRoomsOnCampus("Monday", "13:30", null);
+        List<FreeRoomResponse> oneHour = service.getFreeRoomsOnCampus("Monday", "13:30", 60);
+
+        // Assert
+        assertEquals(4, anyDuration.size());
+        assertEquals("Another Building", anyDuration.get(0).getBuilding());
+        assertNull(anyDuration.get(0).getAvailableUntil());
+
+        assertEquals(3, oneHour.size());
+        assertEquals("201", oneHour.get(0).getRoomNumber());
+        assertEquals("101", oneHour.get(1).getRoomNumber());
+        assertEquals("103", oneHour.get(2).getRoomNumber());
+        assertEquals("15:00", oneHour.get(2).getAvailableUntil());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getFreeRoomsOnCampus("Monday", "13:30", -5));
+    }
+
+    @Test
+    void testGetRoomsFreeBetween_WholeWindow() {
+        // Arrange
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act: 102 is busy 14:00-15:00, 103 is busy 12:00-13:00 and 15:00-16:00
+        List<RoomStatusResponse> window = service.getRoomsFreeBetween("Test Building", "Monday", "13:00", "15:00");
+        List<RoomStatusResponse> twoHours = service.getRoomsFreeFor("Test Building", "Monday", "10:30", 120);
+
+        // Assert: the window end is exclusive, so 103 qualifies for 13:00-15:00
+        assertEquals(Arrays.asList("101", "103"),
+                window.stream().map(RoomStatusResponse::getRoomNumber).collect(Collectors.toList()));
+        assertEquals("15:00", window.get(1).getAvailableUntil());
+        assertEquals(Arrays.asList("101", "102"),
+                twoHours.stream().map(RoomStatusResponse::getRoomNumber).collect(Collectors.toList()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getRoomsFreeBetween("Test Building", "Monday", "15:00", "13:00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getRoomsFreeFor("Test Building", "Monday", "23:00", 120));
+    }
+
+    @Test
+    void testGetAllRoomsWithStatus_FreeRangesAndAvailableFrom() {
+        // Arrange
+        loadIndex(testRoom1, testRoom3);
+
+        // Act
+        List<RoomStatusResponse> result = service.getAllRoomsWithStatus("Test Building", "Monday", "12:30");
+
+        // Assert: a room without usage is free for the whole of the default 07:00-23:00 hours
+        RoomStatusResponse freeRoom = result.get(0);
+        assertEquals(1, freeRoom.getFreeRanges().size());
+        assertEquals("07:00", freeRoom.getFreeRanges().get(0).getStart());
+        assertEquals("23:00", freeRoom.getFreeRanges().get(0).getEnd());
+
+        // Room 103 is busy 12:00-13:00 and 15:00-16:00
+        RoomStatusResponse occupiedRoom = result.get(1);
+        assertEquals("OCCUPIED", occupiedRoom.getStatus());
+        assertEquals("13:00", occupiedRoom.getAvailableFrom());
+        assertEquals(Arrays.asList("07:00-12:00", "13:00-15:00", "16:00-23:00"),
+                occupiedRoom.getFreeRanges().stream()
+                        .map(range -> range.getStart() + "-" + range.getEnd())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testReloadIndex_ReadsEveryPage() {
+        // Arrange: two pages of rooms
+        Pageable firstPage = PageRequest.of(0, 2);
+        when(repository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testRoom1, testRoom2), firstPage, true))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testRoom3), firstPage.next(), false));
+        assertFalse(service.isIndexLoaded());
+
+        // Act
+        int loaded = service.reloadIndex();
+
+        // Assert
+        assertEquals(3, loaded);
+        assertTrue(service.isIndexLoaded());
+        assertEquals(3, service.getAllRoomsWithStatus("Test Building", "Monday", "12:30").size());
+        verify(repository, times(2)).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void testGetDatasetVersion_ChangesWithSchedule() {
+        assertNull(service.getDatasetVersion());
+
+        loadIndex(testRoom1, testRoom2, testRoom3);
+        String version = service.getDatasetVersion();
+        assertNotNull(version);
+
+        loadIndex(testRoom1, testRoom2, testRoom3);
+        assertEquals(version, service.getDatasetVersion());
+
+        testRoom3.getUsage().getMonday().get(0).setEnd("13:15");
+        loadIndex(testRoom1, testRoom2, testRoom3);
+        assertNotEquals(version, service.getDatasetVersion());
+    }
+
+    @Test
+    void testStatusChangesAtSlotBoundaries() {
+        // Arrange: 102 is busy 09:00-10:00 and 14:00-15:00, 103 is busy 12:00-13:00 and 15:00-16:00
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act & Assert: the building timeline is 09:00, 10:00, 12:00, 13:00, 14:00, 15:00, 16:00
+        assertEquals(DaySchedule.toMinuteOfDay("09:00"),
+                service.getNextStatusChange("Test Building", DayOfWeek.MONDAY, 0));
+        assertEquals(DaySchedule.toMinuteOfDay("12:00"),
+                service.getNextStatusChange("Test Building", DayOfWeek.MONDAY, DaySchedule.toMinuteOfDay("10:00")));
+        assertEquals(-1,
+                service.getNextStatusChange("Test Building", DayOfWeek.MONDAY, DaySchedule.toMinuteOfDay("16:00")));
+        assertEquals(-1, service.getNextStatusChange("Test Building", DayOfWeek.TUESDAY, 0));
+
+        // At 15:00 room 102 frees up and room 103 becomes occupied
+        List<RoomStatusResponse> changes = service.getStatusChanges("Test Building", DayOfWeek.MONDAY,
+                DaySchedule.toMinuteOfDay("14:59"), DaySchedule.toMinuteOfDay("15:00"));
+        assertEquals(2, changes.size());
+        assertEquals("102", changes.get(0).getRoomNumber());
+        assertEquals("OPEN", changes.get(0).getStatus());
+        assertEquals("103", changes.get(1).getRoomNumber());
+        assertEquals("OCCUPIED", changes.get(1).getStatus());
+        assertEquals("16:00", changes.get(1).getAvailableFrom());
+
+        assertTrue(service.getStatusChanges("Test Building", DayOfWeek.MONDAY,
+                DaySchedule.toMinuteOfDay("15:29"), DaySchedule.toMinuteOfDay("15:30")).isEmpty());
+
+        // A late broadcast reports every room that changed since the last one,
+        // with its status now: 102 was busy 14:00-15:00 and is open again
+        List<RoomStatusResponse> late = service.getStatusChanges("Test Building", DayOfWeek.MONDAY,
+                DaySchedule.toMinuteOfDay("13:30"), DaySchedule.toMinuteOfDay("15:30"));
+        assertEquals(2, late.size());
+        assertEquals("102", late.get(0).getRoomNumber());
+        assertEquals("OPEN", late.get(0).getStatus());
+        assertEquals("103", late.get(1).getRoomNumber());
+        assertEquals("OCCUPIED", late.get(1).getStatus());
+    }
+
+    @Test
+    void testGetBatchStatus_GridAndProbes() {
+        // Arrange: 102 is busy 09:00-10:00 and 14:00-15:00, 103 is busy 12:00-13:00 and 15:00-16:00
+        loadIndex(testRoom1, testRoom2, testRoom3);
+        BatchStatusRequest grid = new BatchStatusRequest();
+        grid.setDays(Arrays.asList("Monday", "Tuesday"));
+        grid.setStart("09:00");
+        grid.setEnd("15:00");
+        grid.setStepMinutes(180);
+
+        // Act
+        BatchStatusResponse result = service.getBatchStatus("Test Building", grid);
+
+        // Assert: columns are Monday 09:00, 12:00, 15:00 then Tuesday 09:00, 12:00, 15:00
+        assertEquals(6, result.getProbes().size());
+        assertEquals("Tuesday", result.getProbes().get(3).getDay());
+        assertEquals("15:00", result.getProbes().get(5).getTime());
+        assertEquals(Arrays.asList("101", "102", "103"), result.getRooms());
+        assertEquals(Arrays.asList("111111", "011111", "100111"), result.getStatuses());
+
+        BatchStatusRequest probes = new BatchStatusRequest();
+        probes.setProbes(Arrays.asList(new BatchStatusRequest.Probe("monday", "14:59"),
+                new BatchStatusRequest.Probe("Monday", "15:30")));
+        assertEquals(Arrays.asList("11", "01", "10"),
+                service.getBatchStatus("Test Building", probes).getStatuses());
+    }
+
+    @Test
+    void testGetBatchStatus_InvalidRequest() {
+        BatchStatusRequest both = new BatchStatusRequest();
+        both.setProbes(Arrays.asList(new BatchStatusRequest.Probe("Monday", "09:00")));
+        both.setDays(Arrays.asList("Monday"));
+        assertThrows(IllegalArgumentException.class, () -> service.getBatchStatus("Test Building", both));
+
+        BatchStatusRequest tooMany = new BatchStatusRequest();
+        tooMany.setDays(Arrays.asList("Monday", "Tuesday"));
+        tooMany.setStart("00:00");
+        tooMany.setEnd("23:59");
+        tooMany.setStepMinutes(1);
+        assertThrows(IllegalArgumentException.class, () -> service.getBatchStatus("Test Building", tooMany));
+
+        BatchStatusRequest hugeStep = new BatchStatusRequest();
+        hugeStep.setDays(Arrays.asList("Monday"));
+        hugeStep.setStart("23:00");
+        hugeStep.setEnd("23:59");
+        hugeStep.setStepMinutes(Integer.MAX_VALUE);
+        IllegalArgumentException overflow = assertThrows(IllegalArgumentException.class,
+                () -> service.getBatchStatus("Test Building", hugeStep));
+        assertEquals("Invalid step minutes: " + Integer.MAX_VALUE, overflow.getMessage());
+
+        BatchStatusRequest weekend = new BatchStatusRequest();
+        weekend.setProbes(Arrays.asList(new BatchStatusRequest.Probe("Saturday", "09:00")));
+        assertThrows(IllegalArgumentException.class, () -> service.getBatchStatus("Test Building", weekend));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGetHeatmap_AveragesFreeRoomsPerBucket() {
+        // Arrange: 102 is busy 09:00-10:00 and 14:00-15:00, 103 is busy 12:00-13:00 and 15:00-16:00
+        testRoom3.getUsage().getMonday().get(0).setEnd("12:30");
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act
+        HeatmapResponse hourly = service.getHeatmap("Test Building", 60);
+        HeatmapResponse uneven = service.getHeatmap("Test Building", 45);
+
+        // Assert: hourly buckets over the default 07:00-23:00 hours
+        assertEquals(3, hourly.getRoomCount());
+        assertEquals(16, hourly.getTimes().size());
+        assertEquals("09:00", hourly.getTimes().get(2));
+        double[] monday = hourly.getFreeRooms().get("Monday");
+        assertEquals(3.0, monday[0]);
+        assertEquals(2.0, monday[2]);
+        assertEquals(2.5, monday[5]); // 103 is busy for half of 12:00-13:00
+        assertEquals(2.0, monday[8]);
+        assertEquals(3.0, hourly.getFreeRooms().get("Tuesday")[2]);
+
+        // 960 minutes in 45-minute buckets leaves a 15-minute bucket at 22:45
+        assertEquals(22, uneven.getTimes().size());
+        assertEquals("22:45", uneven.getTimes().get(21));
+        assertEquals(3.0, uneven.getFreeRooms().get("Friday")[21]);
+
+        assertNull(service.getHeatmap("Unknown Building", 60));
+        assertEquals(1, service.getCampusHeatmap(15).size());
+        assertThrows(IllegalArgumentException.class, () -> service.getHeatmap("Test Building", 7));
+    }
+
+    @Test
+    void testGetAllRoomsWithStatus_AggregationMode() {
+        // Arrange: the aggregation returns status rows, 103 is busy 12:00-13:00 and 15:00-16:00
+        StudySpacesProperties aggregationProperties = new StudySpacesProperties();
+        aggregationProperties.getIndex().setMode(StudySpacesProperties.Index.Mode.AGGREGATION);
+        RoomUsageService aggregationService = new RoomUsageService(repository, mongoTemplate,
+                aggregationProperties, metrics, terms, campusExecutor);
+        RoomStatusResponse occupied = new RoomStatusResponse("103", "OCCUPIED", null, "13:00",
+                testRoom3.getUsage().getMonday(), null);
+        RoomStatusResponse free = new RoomStatusResponse("101", "OPEN", null, null, null, null);
+        when(mongoTemplate.getCollectionName(RoomUsage.class)).thenReturn("room_usage_fall2025");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("room_usage_fall2025"), eq(RoomStatusResponse.class)))
+                .thenReturn(new AggregationResults<>(Arrays.asList(free, occupied), new Document()));
+
+        // Act
+        List<RoomStatusResponse> result = aggregationService.getAllRoomsWithStatus("Test Building", "Monday",
+                "12:30");
+
+        // Assert: free ranges are derived from the returned occupied ranges
+        assertEquals(2, result.size());
+        assertEquals("07:00", result.get(0).getFreeRanges().get(0).getStart());
+        assertEquals("23:00", result.get(0).getFreeRanges().get(0).getEnd());
+        assertEquals(Arrays.asList("07:00-12:00", "13:00-15:00", "16:00-23:00"),
+                result.get(1).getFreeRanges().stream()
+                        .map(range -> range.getStart() + "-" + range.getEnd())
+                        .collect(Collectors.toList()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testLoadIndex_TermsAreIndependent() {
+        // Arrange: a second term where room 101 is busy all Monday morning
+        StudySpacesProperties twoTerms = new StudySpacesProperties();
+        twoTerms.getTerms().add(new StudySpacesProperties.Term("spring2026", "room_usage_spring2026"));
+        SemesterTerms semesterTerms = new SemesterTerms(twoTerms);
+        RoomUsageService multiTermService = new RoomUsageService(repository, mongoTemplate, twoTerms, metrics,
+                semesterTerms, campusExecutor);
+        RoomUsage springRoom = new RoomUsage();
+        springRoom.setBuilding("Test Building");
+        springRoom.setRoomNumber("101");
+        RoomUsage.Usage usage = new RoomUsage.Usage();
+        RoomUsage.TimeRange morning = new RoomUsage.TimeRange();
+        morning.setStart("08:00");
+        morning.setEnd("12:00");
+        usage.setMonday(Arrays.asList(morning));
+        springRoom.setUsage(usage);
+
+        // Act: the active term is the first one, since neither has a start date
+        multiTermService.loadIndex("fall2025", Arrays.asList(testRoom1));
+        String fallVersion = multiTermService.getDatasetVersion();
+        multiTermService.loadIndex("spring2026", Arrays.asList(springRoom));
+
+        // Assert
+        assertEquals("OPEN", multiTermService.getAllRoomsWithStatus("Test Building", "Monday", "09:00")
+                .get(0).getStatus());
+        assertEquals("OCCUPIED", semesterTerms.callInTerm("spring2026",
+                () -> multiTermService.getAllRoomsWithStatus("Test Building", "Monday", "09:00")).get(0).getStatus());
+        assertEquals(fallVersion, multiTermService.getDatasetVersion());
+        assertNotEquals(fallVersion, semesterTerms.callInTerm("spring2026", multiTermService::getDatasetVersion));
+        assertEquals(2, multiTermService.getLoadedTerms().size());
+        assertThrows(IllegalArgumentException.class, () -> semesterTerms.select("summer2026"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testApplyChanges_OnlyChangedBuildingGetsNewVersion() {
+        // Arrange: a second building that the change does not touch
+        RoomUsage otherRoom = new RoomUsage();
+        otherRoom.setId("b1");
+        otherRoom.setBuilding("Other Building");
+        otherRoom.setRoomNumber("201");
+        testRoom1.setId("a1");
+        testRoom2.setId("a2");
+        testRoom3.setId("a3");
+        assertFalse(service.applyChanges("fall2025", Map.of("a1", testRoom1)));
+        loadIndex(testRoom1, testRoom2, testRoom3, otherRoom);
+        String testBuildingVersion = service.getBuildingVersion("Test Building");
+        String otherBuildingVersion = service.getBuildingVersion("Other Building");
+
+        // Act: 103 is deleted and 101 gets a Monday morning class
+        RoomUsage.TimeRange morning = new RoomUsage.TimeRange();
+        morning.setStart("08:00");
+        morning.setEnd("09:30");
+        RoomUsage.Usage usage = new RoomUsage.Usage();
+        usage.setMonday(Arrays.asList(morning));
+        RoomUsage updated = new RoomUsage();
+        updated.setId("a1");
+        updated.setBuilding("Test Building");
+        updated.setRoomNumber("101");
+        updated.setUsage(usage);
+        Map<String, RoomUsage> changes = new HashMap<>();
+        changes.put("a1", updated);
+        changes.put("a3", null);
+        assertTrue(service.applyChanges("fall2025", changes));
+
+        // Assert
+        List<RoomStatusResponse> rooms = service.getAllRoomsWithStatus("Test Building", "Monday", "09:00");
+        assertEquals(Arrays.asList("101", "102"), rooms.stream().map(RoomStatusResponse::getRoomNumber)
+                .collect(Collectors.toList()));
+        assertEquals("OCCUPIED", rooms.get(0).getStatus());
+        assertNotEquals(testBuildingVersion, service.getBuildingVersion("Test Building"));
+        assertEquals(otherBuildingVersion, service.getBuildingVersion("Other Building"));
+        assertEquals(3, service.getIndexedRooms().size());
+    }
+
+    @Test
+    void testGetAllRoomsWithStatus_CachedPerStatusSegment() {
+        // Arrange: room 103 is busy 12:00-13:00 and 15:00-16:00, 102 is busy
+        // 09:00-10:00 and 14:00-15:00, so 12:00-13:59 is one segment
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        // Act
+        List<RoomStatusResponse> first = service.getAllRoomsWithStatus("Test Building", "Monday", "12:01");
+        List<RoomStatusResponse> later = service.getAllRoomsWithStatus("Test Building", "Monday", "12:59");
+        List<RoomStatusResponse> after = service.getAllRoomsWithStatus("Test Building", "Monday", "13:00");
+
+        // Assert
+        assertSame(first, later);
+        assertNotSame(first, after);
+        assertEquals("13:00", first.get(2).getAvailableFrom());
+        assertEquals("15:00", after.get(2).getAvailableUntil());
+        assertNotSame(first, service.getAllRoomsWithStatus("Test Building", "Tuesday", "12:01"));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "buildingStatus").tag("result", "hit")
+                .functionCounter().count());
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+    }
+
+    @Test
+    void testToCompact_ParallelArraysInMinutes() {
+        // Arrange: 102 is busy 09:00-10:00 and 14:00-15:00
+        loadIndex(testRoom1, testRoom2);
+        List<RoomStatusResponse> statuses = service.getAllRoomsWithStatus("Test Building", "Monday", "09:30");
+
+        // Act
+        CompactRoomStatusResponse compact = service.toCompact("Test Building", statuses);
+
+        // Assert
+        assertEquals(Arrays.asList("101", "102"), compact.getRooms());
+        assertArrayEquals(new boolean[] { true, false }, compact.getOpen());
+        assertArrayEquals(new Integer[] { null, null }, compact.getAvailableUntil());
+        assertArrayEquals(new Integer[] { null, 600 }, compact.getAvailableFrom());
+        assertArrayEquals(new int[0], compact.getOccupied()[0]);
+        assertArrayEquals(new int[] { 540, 600, 840, 900 }, compact.getOccupied()[1]);
+        assertArrayEquals(new int[] { 420, 540, 600, 840, 900, 1380 }, compact.getFree()[1]);
+    }
+
+    @Test
+    void testGetRoomByName_CanonicalAndMisspelledNames() {
+        loadIndex(testRoom1, testRoom2, testRoom3);
+
+        assertSame(testRoom2, service.getRoomByName(" test   BUILDING ", "102"));
+        assertSame(testRoom3, service.getRoomByName("Test Bulding", "103"));
+        assertNull(service.getRoomByName("Test Building", "104"));
+        assertEquals("Test Building 101", service.search("test 10", 1).stream()
+                .map(result -> result.getBuilding() + " " + result.getRoomNumber())
+                .findFirst().orElse(null));
+        assertThrows(IllegalArgumentException.class, () -> service.search("test", 0));
+        verify(repository, never()).findByBuildingAndRoom(anyString(), anyString());
+    }
+
+    @Test
+    void testGetNearestFreeRooms_SkipsBuildingsWithoutFreeRooms() {
+        // Arrange: at 12:30 on Monday only Far Hall has a free room; Other Hall has
+        // no location
+        RoomUsage near = new RoomUsage();
+        near.setBuilding("Test Building");
+        near.setRoomNumber("103");
+        near.setUsage(testRoom3.getUsage());
+        near.setLocation(location(40.1100, -88.2270));
+        RoomUsage far = new RoomUsage();
+        far.setBuilding("Far Hall");
+        far.setRoomNumber("1");
+        far.setLocation(location(40.1000, -88.2270));
+        RoomUsage unplaced = new RoomUsage();
+        unplaced.setBuilding("Other Hall");
+        unplaced.setRoomNumber("2");
+        loadIndex(near, far, unplaced);
+
+        // Act
+        List<NearbyBuildingResponse> result = service.getNearestFreeRooms(40.1100, -88.2270, "Monday", "12:30", 5,
+                null);
+
+        // Assert: about 1112 m, one thousandth of a degree of latitude being 111.2 m
+        assertEquals(1, result.size());
+        assertEquals("Far Hall", result.get(0).getBuilding());
+        assertEquals(1112, result.get(0).getDistanceMeters());
+        assertEquals("1", result.get(0).getFreeRooms().get(0).getRoomNumber());
+        assertEquals("Test Building", service.getNearestFreeRooms(40.1100, -88.2270, "Monday", "13:30", 1, null)
+                .get(0).getBuilding());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getNearestFreeRooms(91, 0, "Monday", "12:30", 5, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getNearestFreeRooms(40, -88, "Monday", "12:30", 0, null));
+    }
+
+    private static RoomUsage.Location location(double latitude, double longitude) {
+        RoomUsage.Location location = new RoomUsage.Location();
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
 }
@@ -0,0 +1,256 @@
+package com.uiuc.studyspaces.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomUsage;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the listener against an in-process Mongo stand-in, as a replica set
+ * with change streams (its oplog enabled) or as a standalone server, and a
+ * mocked index. RoomUsageService#applyChanges is synchronized, so it is only
+ * verified once the snapshot written after it shows it has returned; a
+ * verification waiting on it would hold the mock's lock.
+ */
+class ScheduleChangeListenerTest {
+
+    private static final String TERM = "fall2025";
+    private static final String COLLECTION = "room_usage_fall2025";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final RoomUsageService service = mock(RoomUsageService.class);
+    private final RoomStatusBroadcaster broadcaster = mock(RoomStatusBroadcaster.class);
+    private final ScheduleIndexWarmer warmer = mock(ScheduleIndexWarmer.class);
+    private final StudySpacesProperties properties = new StudySpacesProperties();
+
+    // Rooms the mocked index holds
+    private final List<RoomUsage> indexed = Collections.synchronizedList(new ArrayList<>());
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate template;
+    private ScheduleChangeListener listener;
+
+    private void start(boolean replicaSet, StudySpacesProperties.Reload.Mode mode, Duration pollInterval) {
+        MemoryBackend backend = new MemoryBackend();
+        if (replicaSet) {
+            backend.enableOplog();
+        }
+        server = new MongoServer(backend);
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://127.0.0.1:" + address.getPort());
+        template = new MongoTemplate(client, "studyspaces");
+        if (!replicaSet) {
+            // The stand-in fails every read of a change stream without an oplog; a
+            // standalone mongod rejects opening one
+            template = spy(template);
+            MongoCollection<Document> collection = spy(template.getCollection(COLLECTION));
+            doThrow(new MongoCommandException(new BsonDocument("ok", new BsonInt32(0))
+                    .append("code", new BsonInt32(40573))
+                    .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets")),
+                    new ServerAddress())).when(collection).watch();
+            doReturn(collection).when(template).getCollection(COLLECTION);
+        }
+
+        properties.getReload().setMode(mode);
+        properties.getReload().setQuietPeriod(Duration.ofSeconds(1));
+        properties.getReload().setPollInterval(pollInterval);
+        when(service.getLoadedTerms()).thenReturn(Set.of(TERM));
+        when(service.getIndexedRooms()).thenAnswer(call -> List.copyOf(indexed));
+        when(service.getIndexedRoomCount(TERM)).thenAnswer(call -> indexed.size());
+        when(service.applyChanges(eq(TERM), anyMap())).thenReturn(true);
+        listener = new ScheduleChangeListener(service, new SemesterTerms(properties), template, broadcaster, warmer,
+                properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.stop();
+        }
+        if (client != null) {
+            client.close();
+            server.shutdownNow();
+        }
+    }
+
+    private void insertRooms(String building, int count) {
+        List<Document> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rooms.add(new Document("building", building).append("room", String.valueOf(100 + i)));
+        }
+        template.insert(rooms, COLLECTION);
+    }
+
+    private void indexCollection() {
+        indexed.clear();
+        indexed.addAll(template.findAll(RoomUsage.class, COLLECTION));
+    }
+
+    /**
+     * Let the listener threads open their stream or take their first poll
+     */
+    private static void settle() throws InterruptedException {
+        Thread.sleep(1_000);
+    }
+
+    @Test
+    void testBatchesChangesUntilQuiet() throws InterruptedException {
+        // Arrange
+        start(true, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofSeconds(5));
+        listener.listenInBackground();
+        settle();
+
+        // Act
+        insertRooms("Siebel Center", 3);
+        template.remove(Query.query(Criteria.where("room").is("101")), COLLECTION);
+
+        // Assert: one batch once the writes went quiet, with the removal folded in
+        verify(warmer, timeout(TIMEOUT_MILLIS)).writeSnapshot(TERM);
+        verify(service).applyChanges(eq(TERM), argThat((Map<String, RoomUsage> changes) ->
+                changes.size() == 3 && changes.values().stream().filter(room -> room == null).count() == 1));
+        verify(broadcaster).reschedule();
+        verify(service, never()).reloadIndex(anyString());
+    }
+
+    @Test
+    void testHoldsDeletesUntilTheInsertsArrive() throws InterruptedException {
+        // Arrange
+        start(true, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofSeconds(5));
+        insertRooms("Siebel Center", 4);
+        indexCollection();
+        listener.listenInBackground();
+        settle();
+
+        // Act: the scraper's delete, then its insert well after the quiet period
+        template.remove(new Query(), COLLECTION);
+        Thread.sleep(2_000);
+        verify(service, never()).applyChanges(eq(TERM), anyMap());
+        insertRooms("Siebel Center", 4);
+
+        // Assert: the deletes are applied together with their replacements
+        verify(warmer, timeout(TIMEOUT_MILLIS)).writeSnapshot(TERM);
+        verify(service).applyChanges(eq(TERM), argThat((Map<String, RoomUsage> changes) ->
+                changes.size() == 8 && changes.values().stream().filter(room -> room == null).count() == 4));
+        verify(service, never()).reloadIndex(anyString());
+    }
+
+    @Test
+    void testDeletesWithoutInsertsFallBackToFullReload() throws InterruptedException {
+        // Arrange
+        start(true, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofSeconds(1));
+        insertRooms("Siebel Center", 4);
+        indexCollection();
+        listener.listenInBackground();
+        settle();
+
+        // Act
+        template.remove(new Query(), COLLECTION);
+
+        // Assert
+        verify(service, timeout(TIMEOUT_MILLIS)).reloadIndex(TERM);
+        verify(service, never()).applyChanges(eq(TERM), anyMap());
+    }
+
+    @Test
+    void testFallsBackToPollingWithoutChangeStreams() throws InterruptedException {
+        // Arrange
+        start(false, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofMillis(200));
+        insertRooms("Siebel Center", 2);
+        indexCollection();
+        listener.listenInBackground();
+        settle();
+        verify(service, never()).reloadIndex(anyString());
+
+        // Act
+        insertRooms("Grainger Library", 1);
+
+        // Assert
+        verify(service, timeout(TIMEOUT_MILLIS)).reloadIndex(TERM);
+        verify(service, never()).applyChanges(eq(TERM), anyMap());
+    }
+
+    @Test
+    void testPollingWaitsOutAnEmptiedCollection() throws InterruptedException {
+        // Arrange
+        start(false, StudySpacesProperties.Reload.Mode.POLL, Duration.ofSeconds(1));
+        insertRooms("Siebel Center", 4);
+        indexCollection();
+        listener.listenInBackground();
+        settle();
+
+        List<Long> reloadedCounts = Collections.synchronizedList(new ArrayList<>());
+        when(service.reloadIndex(TERM)).thenAnswer(call -> {
+            reloadedCounts.add(template.count(new Query(), COLLECTION));
+            return 4;
+        });
+
+        // Act: the scraper's insert lands before the poll that would confirm the delete
+        template.remove(new Query(), COLLECTION);
+        Thread.sleep(300);
+        insertRooms("Siebel Center", 4);
+
+        // Assert: only the refilled collection is loaded
+        verify(warmer, timeout(TIMEOUT_MILLIS)).writeSnapshot(TERM);
+        assertEquals(List.of(4L), reloadedCounts);
+    }
+
+    @Test
+    void testReloadsStaleSnapshotAtStartup() throws InterruptedException {
+        // Arrange: the index holds the rooms of a scrape that has since been replaced
+        start(true, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofSeconds(5));
+        insertRooms("Siebel Center", 3);
+        indexCollection();
+        template.remove(new Query(), COLLECTION);
+        insertRooms("Siebel Center", 3);
+
+        // Act
+        listener.listenInBackground();
+
+        // Assert
+        verify(service, timeout(TIMEOUT_MILLIS)).reloadIndex(TERM);
+    }
+
+    @Test
+    void testKeepsUpToDateIndexAtStartup() throws InterruptedException {
+        // Arrange
+        start(true, StudySpacesProperties.Reload.Mode.AUTO, Duration.ofSeconds(5));
+        insertRooms("Siebel Center", 3);
+        indexCollection();
+
+        // Act
+        listener.listenInBackground();
+        settle();
+
+        // Assert: the comparison ran and found nothing to do
+        verify(service, atLeastOnce()).getIndexedRooms();
+        verify(service, never()).reloadIndex(anyString());
+    }
+}
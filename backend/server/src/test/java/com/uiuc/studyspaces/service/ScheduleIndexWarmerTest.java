@@ -0,0 +1,169 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import com.uiuc.studyspaces.model.RoomUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ScheduleIndexWarmerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final RoomUsageService service = mock(RoomUsageService.class);
+    private StudySpacesProperties properties;
+    private ScheduleIndexWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        // fall2025 is configured first, but spring2026 is the active term
+        properties = new StudySpacesProperties();
+        properties.getTerms().get(0).setStart(LocalDate.parse("2025-08-25"));
+        StudySpacesProperties.Term spring = new StudySpacesProperties.Term("spring2026", "room_usage_spring2026");
+        spring.setStart(LocalDate.parse("2026-01-20"));
+        properties.getTerms().add(spring);
+        properties.getSnapshot().setPath(tempDir.resolve("rooms.snap").toString());
+        ZoneId zone = ZoneId.of("America/Chicago");
+        SemesterTerms terms = new SemesterTerms(properties,
+                Clock.fixed(LocalDate.parse("2026-03-01").atStartOfDay(zone).toInstant(), zone));
+        warmer = new ScheduleIndexWarmer(service, terms, properties);
+    }
+
+    private static RoomUsage room(String building, String number) {
+        RoomUsage room = new RoomUsage();
+        room.setBuilding(building);
+        room.setRoomNumber(number);
+        return room;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> termDetails(Health health, String term) {
+        return (Map<String, Object>) ((Map<String, Object>) health.getDetails().get("terms")).get(term);
+    }
+
+    @Test
+    void testWarmsActiveTermFirstAndWritesSnapshots() {
+        // Arrange
+        when(service.reloadIndex("spring2026")).thenReturn(2);
+        when(service.reloadIndex("fall2025")).thenReturn(1);
+        when(service.getIndexedRooms()).thenReturn(List.of(room("Siebel Center", "1404")));
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        InOrder order = inOrder(service);
+        order.verify(service).reloadIndex("spring2026");
+        order.verify(service).reloadIndex("fall2025");
+        assertTrue(Files.exists(tempDir.resolve("spring2026-rooms.snap")));
+        assertTrue(Files.exists(tempDir.resolve("fall2025-rooms.snap")));
+
+        Health health = warmer.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(ScheduleIndexWarmer.State.READY, health.getDetails().get("state"));
+        assertEquals("spring2026", health.getDetails().get("activeTerm"));
+        assertEquals("mongo", termDetails(health, "spring2026").get("source"));
+        assertEquals(2, termDetails(health, "spring2026").get("rooms"));
+        assertTrue(health.getDetails().containsKey("warmupMillis"));
+    }
+
+    @Test
+    void testLoadsExistingSnapshotWithoutMongo() throws IOException {
+        // Arrange
+        ScheduleSnapshot.write(tempDir.resolve("spring2026-rooms.snap"),
+                List.of(room("Siebel Center", "1404"), room("Siebel Center", "1302")));
+        when(service.loadIndex(eq("spring2026"), anyList())).thenAnswer(call -> call.<List<?>>getArgument(1).size());
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        verify(service).loadIndex(eq("spring2026"), argThat(rooms -> rooms.size() == 2));
+        verify(service, never()).reloadIndex("spring2026");
+        verify(service).reloadIndex("fall2025");
+        Health health = warmer.health();
+        assertEquals("snapshot", termDetails(health, "spring2026").get("source"));
+        assertEquals(2, termDetails(health, "spring2026").get("rooms"));
+        assertEquals("mongo", termDetails(health, "fall2025").get("source"));
+    }
+
+    @Test
+    void testUnreadableSnapshotFallsBackToMongo() throws IOException {
+        // Arrange
+        Files.writeString(tempDir.resolve("spring2026-rooms.snap"), "not a snapshot");
+        when(service.reloadIndex("spring2026")).thenReturn(3);
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        verify(service, never()).loadIndex(eq("spring2026"), anyList());
+        verify(service).reloadIndex("spring2026");
+        assertEquals("mongo", termDetails(warmer.health(), "spring2026").get("source"));
+    }
+
+    @Test
+    void testFailedActiveTermReportsDown() {
+        // Arrange
+        when(service.reloadIndex("spring2026")).thenThrow(new IllegalStateException("Mongo unreachable"));
+        when(service.reloadIndex("fall2025")).thenReturn(1);
+
+        // Act
+        warmer.warm();
+
+        // Assert: the other term is still warmed
+        verify(service).reloadIndex("fall2025");
+        Health health = warmer.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(ScheduleIndexWarmer.State.FAILED, health.getDetails().get("state"));
+        assertEquals("Mongo unreachable", termDetails(health, "spring2026").get("error"));
+        assertEquals("mongo", termDetails(health, "fall2025").get("source"));
+    }
+
+    @Test
+    void testFailedInactiveTermStaysUp() {
+        // Arrange
+        when(service.reloadIndex("spring2026")).thenReturn(2);
+        when(service.reloadIndex("fall2025")).thenThrow(new IllegalStateException("Mongo unreachable"));
+
+        // Act
+        warmer.warm();
+
+        // Assert
+        Health health = warmer.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(ScheduleIndexWarmer.State.READY, health.getDetails().get("state"));
+        assertEquals("Mongo unreachable", termDetails(health, "fall2025").get("error"));
+    }
+
+    @Test
+    void testWarmingIsUpAndDisabledSkipsWarmup() {
+        assertEquals(Status.UP, warmer.health().getStatus());
+        assertEquals(ScheduleIndexWarmer.State.PENDING, warmer.health().getDetails().get("state"));
+
+        properties.getIndex().setMode(StudySpacesProperties.Index.Mode.AGGREGATION);
+        ScheduleIndexWarmer disabled = new ScheduleIndexWarmer(service, new SemesterTerms(properties), properties);
+        disabled.warmInBackground();
+
+        assertEquals(ScheduleIndexWarmer.State.DISABLED, disabled.health().getDetails().get("state"));
+        verify(service, never()).reloadIndex(anyString());
+    }
+}
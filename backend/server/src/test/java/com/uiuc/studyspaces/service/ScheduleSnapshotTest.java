@@ -0,0 +1,121 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.model.RoomUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // Arrange
+        RoomUsage.TimeRange morning = new RoomUsage.TimeRange();
+        morning.setStart("09:00");
+        morning.setEnd("10:50");
+        RoomUsage.Usage usage = new RoomUsage.Usage();
+        usage.setMonday(Arrays.asList(morning));
+        usage.setWednesday(List.of());
+
+        RoomUsage used = new RoomUsage();
+        used.setId("66f1c0a2e4b0a1b2c3d4e5f6");
+        used.setBuilding("Davenport Hall");
+        used.setRoomNumber("313");
+        used.setRoom_id("Davenport Hall 313");
+        used.setSemester("fall2025");
+        used.setCourses(Arrays.asList("ANTH 101", "ANTH 102"));
+        used.setUsage(usage);
+        RoomUsage.Location location = new RoomUsage.Location();
+        location.setLatitude(40.1074);
+        location.setLongitude(-88.2272);
+        used.setLocation(location);
+
+        RoomUsage unused = new RoomUsage();
+        unused.setBuilding("Davenport Hall");
+        unused.setRoomNumber("Café");
+
+        Path snapshot = tempDir.resolve("snapshots/rooms.bin");
+
+        // Act
+        ScheduleSnapshot.write(snapshot, Arrays.asList(used, unused));
+        List<RoomUsage> rooms = ScheduleSnapshot.read(snapshot);
+
+        // Assert
+        assertEquals(2, rooms.size());
+        RoomUsage first = rooms.get(0);
+        assertEquals("66f1c0a2e4b0a1b2c3d4e5f6", first.getId());
+        assertEquals("Davenport Hall", first.getBuilding());
+        assertEquals("313", first.getRoomNumber());
+        assertEquals("Davenport Hall 313", first.getRoom_id());
+        assertEquals("fall2025", first.getSemester());
+        assertEquals(Arrays.asList("ANTH 101", "ANTH 102"), first.getCourses());
+        assertEquals("09:00", first.getUsage().getMonday().get(0).getStart());
+        assertEquals("10:50", first.getUsage().getMonday().get(0).getEnd());
+        assertNull(first.getUsage().getTuesday());
+        assertTrue(first.getUsage().getWednesday().isEmpty());
+        assertEquals(40.1074, first.getLocation().getLatitude());
+        assertEquals(-88.2272, first.getLocation().getLongitude());
+
+        RoomUsage second = rooms.get(1);
+        assertSame(first.getBuilding(), second.getBuilding());
+        assertEquals("Café", second.getRoomNumber());
+        assertNull(second.getId());
+        assertNull(second.getCourses());
+        assertNull(second.getUsage());
+        assertNull(second.getLocation());
+    }
+
+    @Test
+    void testLoadedRoomsKeepBuildingVersion() throws IOException {
+        // Arrange: Mongo may store seconds, the snapshot always loads "HH:mm"
+        RoomUsage.TimeRange morning = new RoomUsage.TimeRange();
+        morning.setStart("09:00:00");
+        morning.setEnd("10:50:00");
+        RoomUsage.TimeRange sameMorning = new RoomUsage.TimeRange();
+        sameMorning.setStart("09:00");
+        sameMorning.setEnd("10:50");
+        List<RoomUsage> fromMongo = Arrays.asList(roomUsedOnMonday("101", morning),
+                roomUsedOnMonday("102", sameMorning));
+        Path snapshot = tempDir.resolve("rooms.bin");
+        OpeningHours hours = OpeningHours.parse("07:00", "23:00");
+
+        // Act
+        ScheduleSnapshot.write(snapshot, fromMongo);
+        List<RoomUsage> fromSnapshot = ScheduleSnapshot.read(snapshot);
+
+        // Assert
+        assertEquals(RoomScheduleIndex.build(fromMongo, hours).getBuildingVersion("Davenport Hall"),
+                RoomScheduleIndex.build(fromSnapshot, hours).getBuildingVersion("Davenport Hall"));
+        assertEquals("09:00", fromSnapshot.get(0).getUsage().getMonday().get(0).getStart());
+        assertSame(fromSnapshot.get(0).getUsage().getMonday().get(0),
+                fromSnapshot.get(1).getUsage().getMonday().get(0));
+    }
+
+    private static RoomUsage roomUsedOnMonday(String number, RoomUsage.TimeRange range) {
+        RoomUsage.Usage usage = new RoomUsage.Usage();
+        usage.setMonday(Arrays.asList(range));
+        RoomUsage room = new RoomUsage();
+        room.setBuilding("Davenport Hall");
+        room.setRoomNumber(number);
+        room.setUsage(usage);
+        return room;
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path notASnapshot = tempDir.resolve("rooms.json");
+        Files.writeString(notASnapshot, "[{\"building\": \"Davenport Hall\"}]");
+
+        assertThrows(IOException.class, () -> ScheduleSnapshot.read(notASnapshot));
+    }
+}
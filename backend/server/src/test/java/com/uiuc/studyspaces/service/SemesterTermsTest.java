@@ -0,0 +1,45 @@
+package com.uiuc.studyspaces.service;
+
+import com.uiuc.studyspaces.config.StudySpacesProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemesterTermsTest {
+
+    private static SemesterTerms termsOn(String date) {
+        StudySpacesProperties properties = new StudySpacesProperties();
+        properties.getTerms().get(0).setStart(LocalDate.parse("2025-08-25"));
+        StudySpacesProperties.Term spring = new StudySpacesProperties.Term("spring2026", "room_usage_spring2026");
+        spring.setStart(LocalDate.parse("2026-01-20"));
+        properties.getTerms().add(spring);
+        ZoneId zone = ZoneId.of("America/Chicago");
+        return new SemesterTerms(properties, Clock.fixed(LocalDate.parse(date).atStartOfDay(zone).toInstant(), zone));
+    }
+
+    @Test
+    void testActiveTermFollowsStartDates() {
+        assertEquals("fall2025", termsOn("2025-06-01").getActiveTerm()); // before any term, the first one
+        assertEquals("fall2025", termsOn("2026-01-19").getActiveTerm());
+        assertEquals("spring2026", termsOn("2026-01-20").getActiveTerm());
+        assertEquals("room_usage_spring2026", termsOn("2026-03-01").getCollection());
+    }
+
+    @Test
+    void testSelectionOverridesActiveTermOnThisThread() {
+        SemesterTerms terms = termsOn("2026-03-01");
+
+        String inFall = terms.callInTerm("fall2025", terms::getCollection);
+
+        assertEquals("room_usage_fall2025", inFall);
+        assertEquals("spring2026", terms.getCurrentTerm());
+        terms.select("fall2025");
+        assertEquals("fall2025", terms.getCurrentTerm());
+        terms.clear();
+        assertEquals("spring2026", terms.getCurrentTerm());
+    }
+}
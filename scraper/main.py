@@ -56,11 +56,29 @@ def process_multiple_departments(
     merge_department_room_usages(departments, year, semester)
 
 
+def attach_building_locations(data, filepath: str):
+    # Optional map of building name -> {"latitude": ..., "longitude": ...}
+    # used by the nearest free room search
+    if not os.path.exists(filepath):
+        return
+    with open(filepath, "r") as f:
+        locations = json.load(f)
+    for record in data:
+        location = locations.get(record.get("building"))
+        if location:
+            record["location"] = location
+
+
 def push_to_mongodb(filepath: str):
     try:
         with open(filepath, "r") as f:
             data = json.load(f)
 
+        attach_building_locations(
+            data,
+            os.path.join(os.path.dirname(filepath), "building_locations.json"),
+        )
+
         print(f"Inserting {len(data)} records into MongoDB Atlas...")
 
         # Clear previous data (avoid duplicates)